@@ -0,0 +1,16 @@
+package taskmanagement.exceptions;
+
+import java.util.List;
+
+public class CsvImportException extends RuntimeException {
+    private final List<String> lineErrors;
+
+    public CsvImportException(List<String> lineErrors) {
+        super("Ошибки импорта CSV (" + lineErrors.size() + "): " + String.join("; ", lineErrors));
+        this.lineErrors = List.copyOf(lineErrors);
+    }
+
+    public List<String> getLineErrors() {
+        return lineErrors;
+    }
+}
@@ -0,0 +1,11 @@
+package taskmanagement.http;
+
+// В каких потоках HttpTaskServer выполняет обработчики запросов
+public enum ExecutionMode {
+    // Виртуальный поток на запрос: блокирующая запись на диск не занимает поток платформы
+    VIRTUAL_THREADS,
+    // Пул потоков платформы фиксированного размера, лишние запросы ждут в очереди
+    BOUNDED_POOL,
+    // Все запросы в потоке-диспетчере HttpServer, по одному
+    SINGLE_THREAD
+}
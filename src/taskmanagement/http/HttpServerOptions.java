@@ -0,0 +1,135 @@
+package taskmanagement.http;
+
+import taskmanagement.http.handlers.BaseHttpHandler;
+
+// Настройки запуска HttpTaskServer. Экземпляры неизменяемы, with-методы возвращают измененную копию.
+// Из командной строки задаются аргументами вида --port=8080 --backlog=128 --executor=pool --threads=16
+// --compress-min=1024.
+public final class HttpServerOptions {
+    public static final int DEFAULT_PORT = 8080;
+
+    private int port = DEFAULT_PORT;
+    // Очередь принятых, но еще не обработанных соединений; 0 — значение системы по умолчанию
+    private int backlog;
+    // По умолчанию, как и раньше, запросы обрабатываются по одному; параллельные режимы включаются явно
+    private ExecutionMode executionMode = ExecutionMode.SINGLE_THREAD;
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+    // Ответы от этого размера сжимаются, если клиент принимает gzip или deflate
+    private int compressionThreshold = BaseHttpHandler.DEFAULT_COMPRESSION_THRESHOLD;
+
+    private HttpServerOptions() {
+    }
+
+    private HttpServerOptions(HttpServerOptions other) {
+        this.port = other.port;
+        this.backlog = other.backlog;
+        this.executionMode = other.executionMode;
+        this.poolSize = other.poolSize;
+        this.compressionThreshold = other.compressionThreshold;
+    }
+
+    public static HttpServerOptions defaults() {
+        return new HttpServerOptions();
+    }
+
+    public static HttpServerOptions fromArgs(String[] args) {
+        HttpServerOptions options = defaults();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ошибка: аргумент должен иметь вид --имя=значение: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            options = switch (name) {
+                case "port" -> options.withPort(parseInt(name, value));
+                case "backlog" -> options.withBacklog(parseInt(name, value));
+                case "threads" -> options.withBoundedPool(parseInt(name, value));
+                case "compress-min" -> options.withCompressionThreshold(parseInt(name, value));
+                case "executor" -> switch (value) {
+                    case "virtual" -> options.withExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+                    case "pool" -> options.withExecutionMode(ExecutionMode.BOUNDED_POOL);
+                    case "single" -> options.withExecutionMode(ExecutionMode.SINGLE_THREAD);
+                    default -> throw new IllegalArgumentException("Ошибка: неизвестный режим исполнения: " + value);
+                };
+                default -> throw new IllegalArgumentException("Ошибка: неизвестный аргумент: " + arg);
+            };
+        }
+        return options;
+    }
+
+    // 0 — свободный порт, выбранный системой
+    public HttpServerOptions withPort(int port) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Ошибка: порт должен быть в диапазоне 0..65535");
+        }
+        HttpServerOptions options = new HttpServerOptions(this);
+        options.port = port;
+        return options;
+    }
+
+    public HttpServerOptions withBacklog(int backlog) {
+        if (backlog < 0) {
+            throw new IllegalArgumentException("Ошибка: очередь соединений не может быть отрицательной");
+        }
+        HttpServerOptions options = new HttpServerOptions(this);
+        options.backlog = backlog;
+        return options;
+    }
+
+    public HttpServerOptions withExecutionMode(ExecutionMode executionMode) {
+        if (executionMode == null) {
+            throw new IllegalArgumentException("Ошибка: не задан режим исполнения");
+        }
+        HttpServerOptions options = new HttpServerOptions(this);
+        options.executionMode = executionMode;
+        return options;
+    }
+
+    public HttpServerOptions withBoundedPool(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Ошибка: размер пула должен быть положительным");
+        }
+        HttpServerOptions options = new HttpServerOptions(this);
+        options.executionMode = ExecutionMode.BOUNDED_POOL;
+        options.poolSize = poolSize;
+        return options;
+    }
+
+    public HttpServerOptions withCompressionThreshold(int bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Ошибка: порог сжатия не может быть отрицательным");
+        }
+        HttpServerOptions options = new HttpServerOptions(this);
+        options.compressionThreshold = bytes;
+        return options;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ошибка: значение " + name + " должно быть числом: " + value);
+        }
+    }
+}
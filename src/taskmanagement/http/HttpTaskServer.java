@@ -3,61 +3,115 @@ package taskmanagement.http;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.sun.net.httpserver.HttpServer;
+import taskmanagement.http.handlers.BaseHttpHandler;
 import taskmanagement.http.handlers.EpicsHandler;
 import taskmanagement.http.handlers.HistoryHandler;
 import taskmanagement.http.handlers.PrioritizedHandler;
 import taskmanagement.http.handlers.SubtasksHandler;
 import taskmanagement.http.handlers.TasksHandler;
+import taskmanagement.manager.ConcurrentTaskManager;
 import taskmanagement.manager.Managers;
 import taskmanagement.manager.TaskManager;
 import taskmanagement.util.DurationAdapter;
+import taskmanagement.util.IntSet;
+import taskmanagement.util.IntSetAdapter;
 import taskmanagement.util.LocalDateTimeAdapter;
+import taskmanagement.util.TaskTypeAdapterFactory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+// Обработчики выполняются в потоках, заданных HttpServerOptions. Если обработка параллельная,
+// а менеджер не потокобезопасен, он оборачивается в ConcurrentTaskManager.
 public class HttpTaskServer {
     private final HttpServer httpServer;
-    private final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .serializeNulls()
-            .registerTypeAdapter(Duration.class, new DurationAdapter())
-            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-            .create();
+    // null — обработка в потоке-диспетчере
+    private final ExecutorService executor;
+    private final Gson gson = getGson();
 
     public HttpTaskServer(TaskManager taskManager) throws IOException {
-        httpServer = HttpServer.create(new InetSocketAddress(8080), 0);
-        httpServer.createContext("/tasks", new TasksHandler(taskManager, gson));
-        httpServer.createContext("/subtasks", new SubtasksHandler(taskManager, gson));
-        httpServer.createContext("/epics", new EpicsHandler(taskManager, gson));
-        httpServer.createContext("/history", new HistoryHandler(taskManager, gson));
-        httpServer.createContext("/prioritized", new PrioritizedHandler(taskManager, gson));
+        this(taskManager, HttpServerOptions.defaults());
     }
 
+    public HttpTaskServer(TaskManager taskManager, HttpServerOptions options) throws IOException {
+        executor = createExecutor(options);
+        if (executor != null && !(taskManager instanceof ConcurrentTaskManager)) {
+            taskManager = new ConcurrentTaskManager(taskManager);
+        }
+        httpServer = HttpServer.create(new InetSocketAddress(options.getPort()), options.getBacklog());
+        httpServer.setExecutor(executor);
+        createContext("/tasks", new TasksHandler(taskManager, gson), options);
+        createContext("/subtasks", new SubtasksHandler(taskManager, gson), options);
+        createContext("/epics", new EpicsHandler(taskManager, gson), options);
+        createContext("/history", new HistoryHandler(taskManager, gson), options);
+        createContext("/prioritized", new PrioritizedHandler(taskManager, gson), options);
+    }
+
+    // Вывод компактный: отступы раздувают большие списки, а читаемый вид доступен через ?pretty=true
     public static Gson getGson() {
         return new GsonBuilder()
-                .setPrettyPrinting()
                 .serializeNulls()
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(IntSet.class, new IntSetAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
                 .create();
     }
 
     public static void main(String[] args) throws IOException {
-        TaskManager taskManager = Managers.getDefault();
-        HttpTaskServer server = new HttpTaskServer(taskManager);
+        TaskManager taskManager = Managers.getConcurrent();
+        HttpTaskServer server = new HttpTaskServer(taskManager, HttpServerOptions.fromArgs(args));
         server.start();
     }
 
     public void start() {
         httpServer.start();
-        System.out.println("HTTP-сервер запущен на порту 8080");
+        System.out.println("HTTP-сервер запущен на порту " + getPort());
     }
 
     public void stop() {
+        int port = getPort();
         httpServer.stop(0);
-        System.out.println("HTTP-сервер на порту 8080 остановлен");
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        System.out.println("HTTP-сервер на порту " + port + " остановлен");
+    }
+
+    // Фактический порт: при настройке порта 0 его выбирает система
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void createContext(String path, BaseHttpHandler handler, HttpServerOptions options) {
+        handler.setCompressionThreshold(options.getCompressionThreshold());
+        httpServer.createContext(path, handler);
+    }
+
+    private static ExecutorService createExecutor(HttpServerOptions options) {
+        return switch (options.getExecutionMode()) {
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("http-request-", 0).factory());
+            case BOUNDED_POOL -> {
+                AtomicInteger counter = new AtomicInteger();
+                yield Executors.newFixedThreadPool(options.getPoolSize(), runnable -> {
+                    Thread thread = new Thread(runnable, "http-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            case SINGLE_THREAD -> null;
+        };
     }
 }
@@ -1,32 +1,65 @@
 package taskmanagement.http.handlers;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import taskmanagement.exceptions.NotFoundException;
 import taskmanagement.manager.TaskManager;
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 public abstract class BaseHttpHandler implements HttpHandler {
+    // Ответы меньше порога не сжимаются: выигрыш меньше заголовков и затрат на сжатие
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+    // Версии менеджера начинаются заново при перезапуске, поэтому в ETag коллекций входит метка запуска
+    private static final String INSTANCE_TAG = Long.toString(System.currentTimeMillis(), 36);
+
     protected final Gson gson;
     protected final TaskManager taskManager;
+    private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
 
     public BaseHttpHandler(TaskManager taskManager, Gson gson) {
         this.taskManager = taskManager;
         this.gson = gson;
     }
 
+    // Задается до запуска сервера
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         try {
+            if (requestDecoding(exchange) == null) {
+                writeResponse(exchange, "Неподдерживаемое сжатие тела запроса", 415);
+                return;
+            }
             handleRequest(exchange);
         } catch (NotFoundException e) {
             notFoundResponse(exchange, e.getMessage());
         } catch (Exception e) {
+            if (exchange.getResponseCode() != -1) {
+                // Заголовки уже отправлены, ответ оборван посередине: остается только закрыть соединение
+                exchange.close();
+                return;
+            }
             errorResponse(exchange, e.getMessage());
         }
     }
@@ -37,6 +70,65 @@ public abstract class BaseHttpHandler implements HttpHandler {
         writeResponse(exchange, responseString, 200);
     }
 
+    // Ответ 200 с JSON, который пишется прямо в тело ответа без промежуточной строки и, если клиент
+    // принимает сжатие, сжимается по ходу записи, поэтому память не растет с размером списка.
+    // Вывод компактный, ?pretty=true включает отступы.
+    protected void jsonResponse(HttpExchange exchange, Object value) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        JsonWriter writer = gson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(responseBody(exchange, 200), StandardCharsets.UTF_8)));
+        if ("true".equals(getQueryParams(exchange).get("pretty"))) {
+            writer.setIndent("  ");
+        }
+        gson.toJson(value, value.getClass(), writer);
+        // Только при успехе: при ошибке до отправки заголовков handle ответит 500, а не обрезанным JSON
+        writer.close();
+    }
+
+    // Условный GET коллекции. ETag слабый (тело зависит от сжатия) и строится из версии коллекции,
+    // поэтому совпадение If-None-Match проверяется до чтения и сериализации списка.
+    // true — отправлен ответ 304
+    protected boolean notModified(HttpExchange exchange, String collection, long version) throws IOException {
+        return notModified(exchange, "W/\"" + INSTANCE_TAG + "-" + collection + "-" + version + "\"");
+    }
+
+    // Условный GET одной задачи. ETag сильный — CRC32C компактного JSON, поэтому пригоден и для If-Match.
+    // JSON строится один раз: по нему считается ETag, и он же уходит в тело ответа
+    protected void itemResponse(HttpExchange exchange, BaseTask task) throws IOException {
+        byte[] json = gson.toJson(task).getBytes(StandardCharsets.UTF_8);
+        if (notModified(exchange, itemTag(json))) {
+            return;
+        }
+        if ("true".equals(getQueryParams(exchange).get("pretty"))) {
+            jsonResponse(exchange, task);
+        } else {
+            writeResponse(exchange, json, "application/json; charset=utf-8", 200);
+        }
+    }
+
+    // Оптимистическая блокировка: If-Match должен совпасть с ETag текущей версии задачи, иначе ответ 412.
+    // current — задача, найденная обработчиком в своей коллекции (null, если ее нет).
+    // Проверка и изменение не атомарны, поэтому она защищает от устаревших данных клиента,
+    // но не от одновременной записи двух клиентов в одно и то же мгновение.
+    // true — отправлен ответ 412
+    protected boolean preconditionFailed(HttpExchange exchange, BaseTask current) throws IOException {
+        String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+        if (ifMatch == null) {
+            return false;
+        }
+        if (current != null) {
+            String tag = itemTag(gson.toJson(current).getBytes(StandardCharsets.UTF_8));
+            for (String candidate : ifMatch.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.equals("*") || candidate.equals(tag)) {
+                    return false;
+                }
+            }
+        }
+        writeResponse(exchange, "Задача изменена другим запросом", 412);
+        return true;
+    }
+
     protected void createdResponse(HttpExchange exchange) throws IOException {
         writeResponse(exchange, "Создано", 201);
     }
@@ -57,11 +149,68 @@ public abstract class BaseHttpHandler implements HttpHandler {
         writeResponse(exchange, message, 500);
     }
 
+    // Длина — в байтах UTF-8, а не в символах: иначе ответ с кириллицей обрезается
     private void writeResponse(HttpExchange exchange, String responseString, int responseCode) throws IOException {
-        exchange.sendResponseHeaders(responseCode, responseString.getBytes().length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(responseString.getBytes(StandardCharsets.UTF_8));
+        writeResponse(exchange, responseString.getBytes(StandardCharsets.UTF_8), "text/plain; charset=utf-8", responseCode);
+    }
+
+    private void writeResponse(HttpExchange exchange, byte[] body, String contentType, int responseCode)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        if (responseCode >= 300) {
+            // ETag относится к данным, а не к ошибке: иначе повторный запрос получил бы 304 на ошибку
+            exchange.getResponseHeaders().remove("ETag");
+        }
+        try (OutputStream os = responseBody(exchange, responseCode)) {
+            os.write(body);
+        }
+    }
+
+    private boolean notModified(HttpExchange exchange, String etag) throws IOException {
+        exchange.getResponseHeaders().set("ETag", etag);
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch == null || !matchesWeakly(ifNoneMatch, etag)) {
+            return false;
+        }
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+        return true;
+    }
+
+    // Слабое сравнение: префикс W/ не учитывается
+    private static boolean matchesWeakly(String header, String etag) {
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || (candidate.startsWith("W/") ? candidate.substring(2) : candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String itemTag(byte[] json) {
+        CRC32C crc = new CRC32C();
+        crc.update(json);
+        return "\"" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    private OutputStream responseBody(HttpExchange exchange, int responseCode) {
+        return new CompressingResponseStream(exchange, responseCode, compressionThreshold);
+    }
+
+    // Распаковка тела запроса по Content-Encoding; null — кодировка не поддерживается
+    private static String requestDecoding(HttpExchange exchange) {
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if (encoding == null || encoding.isBlank()) {
+            return "identity";
         }
+        encoding = encoding.trim().toLowerCase(Locale.ROOT);
+        return switch (encoding) {
+            case "identity", "gzip", "x-gzip", "deflate" -> encoding;
+            default -> null;
+        };
     }
 
     protected Optional<Integer> getIdFromPath(HttpExchange exchange) {
@@ -74,7 +223,38 @@ public abstract class BaseHttpHandler implements HttpHandler {
         }
     }
 
+    protected Map<String, String> getQueryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // Фильтр ?status=; null, если фильтр не задан, IllegalArgumentException — если статус неизвестен
+    protected TaskStatus getStatusParam(HttpExchange exchange) {
+        String status = getQueryParams(exchange).get("status");
+        return status == null || status.isEmpty() ? null : TaskStatus.valueOf(status.toUpperCase(Locale.ROOT));
+    }
+
+    // Тело запроса; сжатое gzip или deflate (например, пакетная загрузка задач) распаковывается потоком
     protected String getRequestBody(HttpExchange exchange) throws IOException {
-        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        InputStream body = exchange.getRequestBody();
+        String encoding = requestDecoding(exchange);
+        if ("gzip".equals(encoding) || "x-gzip".equals(encoding)) {
+            body = new GZIPInputStream(body);
+        } else if ("deflate".equals(encoding)) {
+            body = new InflaterInputStream(body);
+        }
+        try (InputStream in = body) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
 }
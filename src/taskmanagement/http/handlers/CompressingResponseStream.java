@@ -0,0 +1,144 @@
+package taskmanagement.http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Тело ответа со сжатием, согласованным по Accept-Encoding. Первые threshold байт копятся в буфере:
+// ответ, не доросший до порога, уходит без сжатия и с Content-Length. Иначе заголовки отправляются
+// с Content-Encoding, и дальше данные сжимаются по мере записи, без промежуточной копии всего ответа.
+final class CompressingResponseStream extends OutputStream {
+    // Без сжатия буфер нужен только для Content-Length у небольших ответов
+    private static final int PLAIN_BUFFER = 8 * 1024;
+
+    private final HttpExchange exchange;
+    private final int status;
+    private final String encoding;
+    private final int bufferLimit;
+    private byte[] buffer = new byte[256];
+    private int count;
+    private OutputStream out;
+
+    CompressingResponseStream(HttpExchange exchange, int status, int threshold) {
+        this.exchange = exchange;
+        this.status = status;
+        this.encoding = negotiate(exchange.getRequestHeaders().get("Accept-Encoding"));
+        this.bufferLimit = encoding == null ? PLAIN_BUFFER : threshold;
+    }
+
+    // gzip, затем deflate; null — без сжатия. Явно названная кодировка разрешена при q > 0,
+    // а "*" (RFC 9110) решает только за кодировки, не названные явно, поэтому порядок элементов не важен.
+    // Если кодировка названа несколько раз, запрет (q=0) сильнее разрешения
+    static String negotiate(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        Boolean gzip = null;
+        Boolean deflate = null;
+        Boolean any = null;
+        for (String header : acceptEncoding) {
+            for (String item : header.split(",")) {
+                String[] parts = item.trim().split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                boolean allowed = true;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            allowed = Double.parseDouble(parameter.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            allowed = false;
+                        }
+                    }
+                }
+                switch (coding) {
+                    case "gzip", "x-gzip" -> gzip = verdict(gzip, allowed);
+                    case "deflate" -> deflate = verdict(deflate, allowed);
+                    case "*" -> any = verdict(any, allowed);
+                    default -> {
+                    }
+                }
+            }
+        }
+        boolean anyAllowed = Boolean.TRUE.equals(any);
+        if (gzip != null ? gzip : anyAllowed) {
+            return "gzip";
+        }
+        return (deflate != null ? deflate : anyAllowed) ? "deflate" : null;
+    }
+
+    private static Boolean verdict(Boolean previous, boolean allowed) {
+        return previous == null ? allowed : previous && allowed;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (out != null) {
+            out.write(bytes, offset, length);
+            return;
+        }
+        if (count + length <= bufferLimit) {
+            if (count + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(bufferLimit, Math.max(buffer.length * 2, count + length)));
+            }
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+            return;
+        }
+        startStreaming();
+        out.write(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out == null) {
+            if (encoding != null) {
+                exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+            }
+            exchange.sendResponseHeaders(status, count == 0 ? -1 : count);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(buffer, 0, count);
+            }
+            return;
+        }
+        out.close();
+    }
+
+    private void startStreaming() throws IOException {
+        OutputStream body = exchange.getResponseBody();
+        if (encoding != null) {
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+            exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+        }
+        exchange.sendResponseHeaders(status, 0);
+        if ("gzip".equals(encoding)) {
+            out = new GZIPOutputStream(body, 8192);
+        } else if ("deflate".equals(encoding)) {
+            // Собственный буфер DeflaterOutputStream — 512 байт, иначе каждый блок стал бы отдельным chunk
+            out = new DeflaterOutputStream(new BufferedOutputStream(body, 8192));
+        } else {
+            out = body;
+        }
+        out.write(buffer, 0, count);
+        buffer = null;
+    }
+}
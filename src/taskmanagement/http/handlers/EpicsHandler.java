@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import taskmanagement.exceptions.NotFoundException;
 import taskmanagement.manager.TaskManager;
+import taskmanagement.status.TaskStatus;
 import taskmanagement.task.EpicTask;
 import taskmanagement.task.Subtask;
 
@@ -76,16 +77,29 @@ public class EpicsHandler extends BaseHttpHandler {
     }
 
     private void handleGetEpics(HttpExchange exchange) throws IOException {
-        List<EpicTask> epicsList = taskManager.getAllEpics();
+        if (notModified(exchange, "epics", taskManager.getSnapshot().getEpicsVersion())) {
+            return;
+        }
+        List<EpicTask> epicsList;
+        try {
+            TaskStatus status = getStatusParam(exchange);
+            epicsList = status == null ? taskManager.getAllEpics() : taskManager.getEpicsByStatus(status);
+        } catch (IllegalArgumentException e) {
+            badRequestResponse(exchange);
+            return;
+        }
         if (epicsList.isEmpty()) {
             notFoundResponse(exchange, "Эпики не найдены");
         } else {
-            okResponse(exchange, gson.toJson(epicsList));
+            jsonResponse(exchange, epicsList);
         }
     }
 
     private void handlePostEpics(HttpExchange exchange) throws IOException {
         EpicTask epic = getEpicFromRequestBody(exchange);
+        if (epic.getId() != null && preconditionFailed(exchange, taskManager.getSnapshot().findEpic(epic.getId()))) {
+            return;
+        }
         try {
             if (epic.getId() != null) {
                 taskManager.updateEpic(epic);
@@ -107,7 +121,11 @@ public class EpicsHandler extends BaseHttpHandler {
         if (epicId != null) {
             try {
                 EpicTask epic = taskManager.getEpicById(epicId);
-                okResponse(exchange, gson.toJson(epic));
+                if (epic == null) {
+                    notFoundResponse(exchange, "Эпик не найден");
+                } else {
+                    itemResponse(exchange, epic);
+                }
             } catch (NotFoundException e) {
                 notFoundResponse(exchange, e.getMessage());
             }
@@ -119,6 +137,9 @@ public class EpicsHandler extends BaseHttpHandler {
     private void handleDeleteEpicById(HttpExchange exchange, Integer epicId) throws IOException {
         if (epicId != null) {
             try {
+                if (preconditionFailed(exchange, taskManager.getSnapshot().findEpic(epicId))) {
+                    return;
+                }
                 taskManager.deleteEpic(epicId);
                 okResponse(exchange, "Эпик удален");
             } catch (NotFoundException e) {
@@ -130,11 +151,14 @@ public class EpicsHandler extends BaseHttpHandler {
     }
 
     private void handleGetEpicSubtasks(HttpExchange exchange, int epicId) throws IOException {
+        if (notModified(exchange, "epic-" + epicId + "-subtasks", taskManager.getSnapshot().getSubtasksVersion())) {
+            return;
+        }
         List<Subtask> subtasks = taskManager.getSubtasksByEpicId(epicId);
         if (subtasks.isEmpty()) {
             notFoundResponse(exchange, "Подзадачи для эпика не найдены");
         } else {
-            okResponse(exchange, gson.toJson(subtasks));
+            jsonResponse(exchange, subtasks);
         }
     }
 
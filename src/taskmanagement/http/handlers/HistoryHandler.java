@@ -15,11 +15,15 @@ public class HistoryHandler extends BaseHttpHandler {
 
     @Override
     protected void handleRequest(HttpExchange exchange) throws IOException {
+        // Эндпоинт отдает приоритетный список, поэтому и ETag — по его версии
+        if (notModified(exchange, "prioritized", taskManager.getSnapshot().getPrioritizedVersion())) {
+            return;
+        }
         List<BaseTask> history = taskManager.getPrioritizedTasks();
         if (history.isEmpty()) {
             notFoundResponse(exchange, "История задач пуста");
         } else {
-            okResponse(exchange, gson.toJson(history));
+            jsonResponse(exchange, history);
         }
     }
 }
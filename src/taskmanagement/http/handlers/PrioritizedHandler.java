@@ -2,24 +2,83 @@ package taskmanagement.http.handlers;
 
 import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
+import taskmanagement.manager.TaskCursor;
 import taskmanagement.manager.TaskManager;
+import taskmanagement.manager.TimeSlot;
 import taskmanagement.task.BaseTask;
+import taskmanagement.util.TimeUtils;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 public class PrioritizedHandler extends BaseHttpHandler {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_SLOT_COUNT = 10;
+
     public PrioritizedHandler(TaskManager taskManager, Gson gson) {
         super(taskManager, gson);
     }
 
     @Override
     protected void handleRequest(HttpExchange exchange) throws IOException {
-        List<BaseTask> prioritizedList = taskManager.getPrioritizedTasks();
+        if (exchange.getRequestURI().getPath().equals("/prioritized/free")) {
+            handleGetFreeSlots(exchange);
+            return;
+        }
+        if (notModified(exchange, "prioritized", taskManager.getSnapshot().getPrioritizedVersion())) {
+            return;
+        }
+        Map<String, String> params = getQueryParams(exchange);
+        List<BaseTask> prioritizedList;
+        int limit;
+        try {
+            LocalDateTime from = parseTime(params.get("from"));
+            LocalDateTime to = parseTime(params.get("to"));
+            TaskCursor cursor = params.containsKey("cursor") ? TaskCursor.parse(params.get("cursor")) : null;
+            limit = params.containsKey("limit") ? Integer.parseInt(params.get("limit")) : Integer.MAX_VALUE;
+            prioritizedList = taskManager.getPrioritizedTasks(from, to, cursor, limit);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            badRequestResponse(exchange);
+            return;
+        }
         if (prioritizedList.isEmpty()) {
             notFoundResponse(exchange, "Приоритетные задачи не найдены");
+            return;
+        }
+        // Полная страница — возможно, есть продолжение: курсор на последнюю задачу страницы
+        if (prioritizedList.size() == limit) {
+            exchange.getResponseHeaders().set(NEXT_CURSOR_HEADER, TaskCursor.after(prioritizedList.get(prioritizedList.size() - 1)).toString());
+        }
+        jsonResponse(exchange, prioritizedList);
+    }
+
+    // duration — в минутах; без from поиск идет от текущего момента
+    private void handleGetFreeSlots(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getQueryParams(exchange);
+        List<TimeSlot> slots;
+        try {
+            Duration duration = Duration.ofMinutes(Long.parseLong(params.get("duration")));
+            LocalDateTime from = parseTime(params.get("from"));
+            LocalDateTime to = parseTime(params.get("to"));
+            int count = params.containsKey("count") ? Integer.parseInt(params.get("count")) : DEFAULT_SLOT_COUNT;
+            slots = taskManager.findFreeSlots(duration, from == null ? LocalDateTime.now() : from, to, count);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            badRequestResponse(exchange);
+            return;
+        }
+        if (slots.isEmpty()) {
+            notFoundResponse(exchange, "Свободное время не найдено");
         } else {
-            okResponse(exchange, gson.toJson(prioritizedList));
+            jsonResponse(exchange, slots);
         }
     }
+
+    // Время в запросе задается в том же формате, что и в JSON задач
+    private LocalDateTime parseTime(String value) {
+        return value == null || value.isEmpty() ? null : TimeUtils.stringToTime(value);
+    }
 }
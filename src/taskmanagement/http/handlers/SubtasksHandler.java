@@ -3,6 +3,7 @@ package taskmanagement.http.handlers;
 import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import taskmanagement.manager.TaskManager;
+import taskmanagement.status.TaskStatus;
 import taskmanagement.task.Subtask;
 
 import java.io.IOException;
@@ -16,6 +17,15 @@ public class SubtasksHandler extends BaseHttpHandler {
     @Override
     protected void handleRequest(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
+        if (exchange.getRequestURI().getPath().split("/").length == 3) {
+            Integer id = getIdFromPath(exchange).orElse(null);
+            switch (method) {
+                case "GET" -> handleGetSubtaskById(exchange, id);
+                case "DELETE" -> handleDeleteSubtaskById(exchange, id);
+                default -> badRequestResponse(exchange);
+            }
+            return;
+        }
         switch (method) {
             case "GET":
                 handleGetSubtasks(exchange);
@@ -32,16 +42,30 @@ public class SubtasksHandler extends BaseHttpHandler {
     }
 
     private void handleGetSubtasks(HttpExchange exchange) throws IOException {
-        List<Subtask> subtasksList = taskManager.getAllSubtasks();
+        if (notModified(exchange, "subtasks", taskManager.getSnapshot().getSubtasksVersion())) {
+            return;
+        }
+        List<Subtask> subtasksList;
+        try {
+            TaskStatus status = getStatusParam(exchange);
+            subtasksList = status == null ? taskManager.getAllSubtasks() : taskManager.getSubtasksByStatus(status);
+        } catch (IllegalArgumentException e) {
+            badRequestResponse(exchange);
+            return;
+        }
         if (subtasksList.isEmpty()) {
             notFoundResponse(exchange, "Подзадачи не найдены");
         } else {
-            okResponse(exchange, gson.toJson(subtasksList));
+            jsonResponse(exchange, subtasksList);
         }
     }
 
     private void handlePostSubtasks(HttpExchange exchange) throws IOException {
         Subtask subtask = getSubtaskFromRequestBody(exchange);
+        if (subtask.getId() != null
+                && preconditionFailed(exchange, taskManager.getSnapshot().findSubtask(subtask.getId()))) {
+            return;
+        }
         try {
             if (subtask.getId() != null) {
                 taskManager.updateSubtask(subtask);
@@ -59,6 +83,26 @@ public class SubtasksHandler extends BaseHttpHandler {
         okResponse(exchange, "Все подзадачи удалены");
     }
 
+    private void handleGetSubtaskById(HttpExchange exchange, Integer id) throws IOException {
+        Subtask subtask = id == null ? null : taskManager.getSubtaskById(id);
+        if (subtask == null) {
+            notFoundResponse(exchange, "Подзадача не найдена");
+        } else {
+            itemResponse(exchange, subtask);
+        }
+    }
+
+    private void handleDeleteSubtaskById(HttpExchange exchange, Integer id) throws IOException {
+        // Ищем только среди подзадач: ID задачи или эпика здесь — 404, а не ложный успех
+        Subtask subtask = id == null ? null : taskManager.getSnapshot().findSubtask(id);
+        if (subtask == null) {
+            notFoundResponse(exchange, "Подзадача не найдена");
+        } else if (!preconditionFailed(exchange, subtask)) {
+            taskManager.deleteSubtask(id);
+            okResponse(exchange, "Подзадача удалена");
+        }
+    }
+
     private Subtask getSubtaskFromRequestBody(HttpExchange exchange) throws IOException {
         return gson.fromJson(getRequestBody(exchange), Subtask.class);
     }
@@ -3,10 +3,12 @@ package taskmanagement.http.handlers;
 import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import taskmanagement.manager.TaskManager;
+import taskmanagement.status.TaskStatus;
 import taskmanagement.task.BaseTask;
 import taskmanagement.task.SimpleTask;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class TasksHandler extends BaseHttpHandler {
@@ -17,6 +19,15 @@ public class TasksHandler extends BaseHttpHandler {
     @Override
     protected void handleRequest(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
+        if (exchange.getRequestURI().getPath().split("/").length == 3) {
+            Integer id = getIdFromPath(exchange).orElse(null);
+            switch (method) {
+                case "GET" -> handleGetTaskById(exchange, id);
+                case "DELETE" -> handleDeleteTaskById(exchange, id);
+                default -> badRequestResponse(exchange);
+            }
+            return;
+        }
         switch (method) {
             case "GET":
                 handleGetTasks(exchange);
@@ -33,19 +44,36 @@ public class TasksHandler extends BaseHttpHandler {
     }
 
     private void handleGetTasks(HttpExchange exchange) throws IOException {
-        List<BaseTask> tasksList = taskManager.getAllTasks();
+        if (notModified(exchange, "tasks", taskManager.getSnapshot().getTasksVersion())) {
+            return;
+        }
+        List<BaseTask> tasksList;
+        try {
+            TaskStatus status = getStatusParam(exchange);
+            tasksList = status == null ? taskManager.getAllTasks() : taskManager.getTasksByStatus(status);
+        } catch (IllegalArgumentException e) {
+            badRequestResponse(exchange);
+            return;
+        }
         if (tasksList.isEmpty()) {
             notFoundResponse(exchange, "Задачи не найдены");
         } else {
-            okResponse(exchange, gson.toJson(tasksList));
+            jsonResponse(exchange, tasksList);
         }
     }
 
     private void handlePostTasks(HttpExchange exchange) throws IOException {
         SimpleTask task = getTaskFromRequestBody(exchange);
+        if (task.getId() != null && preconditionFailed(exchange, taskManager.getSnapshot().findTask(task.getId()))) {
+            return;
+        }
         try {
             if (task.getId() != null) {
                 taskManager.updateTask(task);
+            } else if ("true".equals(getQueryParams(exchange).get("autoPlace"))) {
+                // Задача ставится в первый свободный промежуток не раньше указанного начала
+                LocalDateTime notBefore = task.getStartTime() != null ? task.getStartTime() : LocalDateTime.now();
+                taskManager.addTaskToFreeSlot(task, notBefore);
             } else {
                 taskManager.addTask(task);
             }
@@ -60,6 +88,26 @@ public class TasksHandler extends BaseHttpHandler {
         okResponse(exchange, "Все задачи удалены");
     }
 
+    private void handleGetTaskById(HttpExchange exchange, Integer id) throws IOException {
+        BaseTask task = id == null ? null : taskManager.getTaskById(id);
+        if (task == null) {
+            notFoundResponse(exchange, "Задача не найдена");
+        } else {
+            itemResponse(exchange, task);
+        }
+    }
+
+    private void handleDeleteTaskById(HttpExchange exchange, Integer id) throws IOException {
+        // Ищем только среди задач: ID подзадачи или эпика здесь — 404, а не ложный успех
+        BaseTask task = id == null ? null : taskManager.getSnapshot().findTask(id);
+        if (task == null) {
+            notFoundResponse(exchange, "Задача не найдена");
+        } else if (!preconditionFailed(exchange, task)) {
+            taskManager.deleteTask(id);
+            okResponse(exchange, "Задача удалена");
+        }
+    }
+
     private SimpleTask getTaskFromRequestBody(HttpExchange exchange) throws IOException {
         return gson.fromJson(getRequestBody(exchange), SimpleTask.class);
     }
@@ -0,0 +1,200 @@
+package taskmanagement.manager;
+
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.Subtask;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Потокобезопасная обёртка над TaskManager: чтения идут параллельно под read-lock,
+// изменения — под write-lock, поэтому проверка пересечений и вставка выполняются атомарно.
+// Списки задач читаются из опубликованного снимка вообще без блокировки.
+public class ConcurrentTaskManager implements TaskManager {
+    private final TaskManager delegate;
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    public ConcurrentTaskManager(TaskManager delegate) {
+        this.delegate = delegate;
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public List<BaseTask> getAllTasks() {
+        return delegate.getSnapshot().getTasks();
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return delegate.getSnapshot().getSubtasks();
+    }
+
+    @Override
+    public List<EpicTask> getAllEpics() {
+        return delegate.getSnapshot().getEpics();
+    }
+
+    @Override
+    public List<BaseTask> getTasksByStatus(TaskStatus status) {
+        return delegate.getSnapshot().getTasks(status);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return delegate.getSnapshot().getSubtasks(status);
+    }
+
+    @Override
+    public List<EpicTask> getEpicsByStatus(TaskStatus status) {
+        return delegate.getSnapshot().getEpics(status);
+    }
+
+    // Просмотр меняет только историю, а она синхронизирована сама, поэтому достаточно блокировки чтения
+    @Override
+    public BaseTask getTaskById(int id) {
+        return read(() -> delegate.getTaskById(id));
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return read(() -> delegate.getSubtaskById(id));
+    }
+
+    @Override
+    public EpicTask getEpicById(int id) {
+        return read(() -> delegate.getEpicById(id));
+    }
+
+    @Override
+    public void addTask(BaseTask task) {
+        write(() -> delegate.addTask(task));
+    }
+
+    // Поиск промежутка и добавление выполняются под одной блокировкой записи,
+    // чтобы параллельный запрос не занял найденный промежуток
+    @Override
+    public void addTaskToFreeSlot(BaseTask task, LocalDateTime notBefore) {
+        write(() -> delegate.addTaskToFreeSlot(task, notBefore));
+    }
+
+    @Override
+    public void addSubtask(Subtask subtask) {
+        write(() -> delegate.addSubtask(subtask));
+    }
+
+    @Override
+    public void addEpic(EpicTask epic) {
+        write(() -> delegate.addEpic(epic));
+    }
+
+    @Override
+    public void addAll(List<? extends BaseTask> batch) {
+        write(() -> delegate.addAll(batch));
+    }
+
+    @Override
+    public void updateTask(BaseTask task) {
+        write(() -> delegate.updateTask(task));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        write(() -> delegate.updateSubtask(subtask));
+    }
+
+    @Override
+    public void updateEpic(EpicTask epic) {
+        write(() -> delegate.updateEpic(epic));
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        write(() -> delegate.deleteTask(id));
+    }
+
+    @Override
+    public void deleteSubtask(int id) {
+        write(() -> delegate.deleteSubtask(id));
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        write(() -> delegate.deleteEpic(id));
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        write(delegate::deleteAllTasks);
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        write(delegate::deleteAllSubtasks);
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        write(delegate::deleteAllEpics);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByEpicId(int epicId) {
+        return read(() -> delegate.getSubtasksByEpicId(epicId));
+    }
+
+    @Override
+    public List<BaseTask> getPrioritizedTasks() {
+        return delegate.getSnapshot().getPrioritizedTasks();
+    }
+
+    @Override
+    public List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return delegate.getSnapshot().getPrioritizedTasks(from, to);
+    }
+
+    @Override
+    public List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, TaskCursor after, int limit) {
+        return delegate.getSnapshot().getPrioritizedTasks(from, to, after, limit);
+    }
+
+    @Override
+    public List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter, int count) {
+        return delegate.getSnapshot().findFreeSlots(duration, notBefore, notAfter, count);
+    }
+
+    @Override
+    public List<BaseTask> getOverlappingTasks(BaseTask task) {
+        return read(() -> delegate.getOverlappingTasks(task));
+    }
+
+    @Override
+    public TaskSnapshot getSnapshot() {
+        return delegate.getSnapshot();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package taskmanagement.manager;
+
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.Subtask;
+import taskmanagement.util.IntObjectMap;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.TreeSet;
+
+// Временное окно эпика: суммарная длительность и упорядоченные мультимножества
+// начала и окончания подзадач, поэтому изменение одной подзадачи стоит O(log n)
+class EpicTimeline {
+    private static final Comparator<Window> BY_START = Comparator.<Window, LocalDateTime>comparing(window -> window.start)
+            .thenComparingInt(window -> window.subtaskId);
+    private static final Comparator<Window> BY_END = Comparator.<Window, LocalDateTime>comparing(window -> window.end)
+            .thenComparingInt(window -> window.subtaskId);
+
+    private final IntObjectMap<Window> windows = new IntObjectMap<>();
+    private final TreeSet<Window> starts = new TreeSet<>(BY_START);
+    private final TreeSet<Window> ends = new TreeSet<>(BY_END);
+    private Duration totalDuration = Duration.ZERO;
+
+    public void put(Subtask subtask) {
+        remove(subtask.getId());
+        if (subtask.getStartTime() == null) {
+            return;
+        }
+        Window window = new Window(subtask.getId(), subtask.getStartTime(), subtask.getEndTime(), subtask.getDuration());
+        windows.put(window.subtaskId, window);
+        starts.add(window);
+        ends.add(window);
+        totalDuration = totalDuration.plus(window.duration);
+    }
+
+    public void remove(int subtaskId) {
+        Window window = windows.remove(subtaskId);
+        if (window != null) {
+            starts.remove(window);
+            ends.remove(window);
+            totalDuration = totalDuration.minus(window.duration);
+        }
+    }
+
+    public void clear() {
+        windows.clear();
+        starts.clear();
+        ends.clear();
+        totalDuration = Duration.ZERO;
+    }
+
+    public void applyTo(EpicTask epic) {
+        epic.setDuration(totalDuration);
+        epic.setStartTime(starts.isEmpty() ? null : starts.first().start);
+        epic.setEndTime(ends.isEmpty() ? null : ends.last().end);
+    }
+
+    private static class Window {
+        final int subtaskId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final Duration duration;
+
+        Window(int subtaskId, LocalDateTime start, LocalDateTime end, Duration duration) {
+            this.subtaskId = subtaskId;
+            this.start = start;
+            this.end = end;
+            this.duration = duration;
+        }
+    }
+}
@@ -1,112 +1,123 @@
 package taskmanagement.manager;
 
 import taskmanagement.exceptions.ManagerSaveException;
-import taskmanagement.status.TaskStatus;
+import taskmanagement.persistence.CsvImport;
+import taskmanagement.persistence.Durability;
+import taskmanagement.persistence.Journal;
+import taskmanagement.persistence.JournalRecord;
+import taskmanagement.persistence.PagedTaskFile;
+import taskmanagement.persistence.PersistenceMetrics;
+import taskmanagement.persistence.PersistenceOptions;
+import taskmanagement.persistence.PersistenceThreads;
+import taskmanagement.persistence.SnapshotData;
+import taskmanagement.persistence.SnapshotFormat;
+import taskmanagement.persistence.WriteQueue;
 import taskmanagement.task.BaseTask;
 import taskmanagement.task.EpicTask;
 import taskmanagement.task.SimpleTask;
 import taskmanagement.task.Subtask;
+import taskmanagement.task.TaskType;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-
-public class FileBackedTaskManager extends InMemoryTaskManager {
-    private static final String HEADER = "id,type,name,status,description,epic,startTime,duration";
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// В режиме снимка каждое изменение перезаписывает файл целиком. В режиме журнала изменение дописывается
+// одной записью в файл <имя>.journal, а при загрузке журнал воспроизводится поверх последнего снимка.
+// Просмотры задач в обоих режимах записываются фоном, см. PersistenceOptions.withHistoryFlush.
+// В страничном режиме (PersistenceOptions.paged) файл — PagedTaskFile, и изменение перезаписывает только слоты
+// затронутых задач и истории.
+// С PersistenceOptions.withWriteQueue запись уходит в фоновый поток с ограниченной очередью и групповой фиксацией.
+public class FileBackedTaskManager extends InMemoryTaskManager implements Closeable {
     private final File file;
+    private final PersistenceOptions options;
+    private final Journal journal;
+    private final PersistenceMetrics metrics = new PersistenceMetrics();
+    private final PagedTaskFile pages;
+    private final AtomicBoolean checkpointRunning = new AtomicBoolean();
+    // Фоновые потоки запускает start() уже после конструктора, чтобы они не увидели объект недостроенным
+    private ScheduledFuture<?> checkpointTask;
+    // Фоновый писатель; null — запись выполняется в потоке операции
+    private WriteQueue writeQueue;
+    // Просмотры, еще не записанные на диск
+    private int[] pendingViews = new int[16];
+    private int pendingViewCount;
+    // Пакеты уходят в очередь в порядке билетов, выданных под блокировкой менеджера
+    private final Object submitOrder = new Object();
+    private long nextSubmitTicket;
+    private long submitTurn;
+    private boolean historyFlushScheduled;
+    private boolean historyFlushRequested;
 
     public FileBackedTaskManager(File file) {
+        this(file, PersistenceOptions.snapshot());
+    }
+
+    private FileBackedTaskManager(File file, PersistenceOptions options) {
         this.file = file;
+        this.options = options;
+        this.journal = options.isJournaled() ? openJournal(file, options) : null;
+        this.pages = options.isPaged() ? openPages(file, options, metrics) : null;
     }
 
-    private static List<Integer> historyFromString(String value) {
-        List<Integer> taskIds = new ArrayList<>();
-        if (value != null && !value.isEmpty()) {
-            String[] ids = value.split(",");
-            for (String id : ids) {
-                taskIds.add(Integer.parseInt(id));
-            }
-        }
-        return taskIds;
-    }
-
-    private static BaseTask taskFromString(String value) {
-        String[] fields = value.split(",");
-        if (fields.length < 7) {
-            throw new IllegalArgumentException("Неверный формат строки задачи: " + value);
-        }
-        int id = Integer.parseInt(fields[0]);
-        String type = fields[1];
-        String title = fields[2];
-        TaskStatus status = TaskStatus.valueOf(fields[3]);
-        String description = fields[4];
-        LocalDateTime startTime = fields[5].equals("null") ? null : LocalDateTime.parse(fields[5], BaseTask.DATE_TIME_FORMATTER);
-        Duration duration = Duration.ofMinutes(Long.parseLong(fields[6]));
-
-        return switch (type) {
-            case "TASK" -> {
-                SimpleTask task = new SimpleTask(title, description);
-                task.setId(id);
-                task.setStatus(status);
-                task.setStartTime(startTime);
-                task.setDuration(duration);
-                yield task;
-            }
-            case "EPIC" -> {
-                EpicTask task = new EpicTask(title, description);
-                task.setId(id);
-                task.setStatus(status);
-                task.setStartTime(startTime);
-                task.setDuration(duration);
-                yield task;
-            }
-            case "SUBTASK" -> {
-                if (fields.length < 8) {
-                    throw new IllegalArgumentException("Неверный формат строки подзадачи: " + value);
-                }
-                int epicId = Integer.parseInt(fields[7]);
-                Subtask task = new Subtask(title, description, epicId);
-                task.setId(id);
-                task.setStatus(status);
-                task.setStartTime(startTime);
-                task.setDuration(duration);
-                yield task;
-            }
-            default -> throw new IllegalArgumentException("Неизвестный тип задачи: " + type);
-        };
+    // Пустой менеджер с заданным режимом хранения; файл не читается
+    public static FileBackedTaskManager create(File file, PersistenceOptions options) {
+        return new FileBackedTaskManager(file, options).start();
     }
 
     public static FileBackedTaskManager loadFromFile(File file) {
-        FileBackedTaskManager manager = new FileBackedTaskManager(file);
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            reader.readLine(); // Пропускаем заголовок
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isEmpty()) {
-                    break; // Достигли пустой строки перед историей
-                }
-                BaseTask task = taskFromString(line);
-                manager.addTaskToCollection(task); // Добавляем задачи с проверкой пересечений
+        return loadFromFile(file, PersistenceOptions.snapshot());
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file, PersistenceOptions options) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(file, options);
+        try {
+            // В режиме журнала снимка может еще не быть: все изменения пока только в журнале
+            if (options.isPaged()) {
+                manager.loadPages();
+            } else if (!options.isJournaled() || file.exists()) {
+                manager.loadSnapshot();
             }
-            String historyLine = reader.readLine();
-            if (historyLine != null && !historyLine.isEmpty()) {
-                List<Integer> history = historyFromString(historyLine);
-                for (Integer taskId : history) {
-                    manager.getTaskById(taskId);
-                }
+            if (options.isJournaled()) {
+                manager.journal.recover(manager::applyRecord);
             }
         } catch (IOException e) {
             throw new ManagerSaveException("Ошибка загрузки менеджера задач", e);
         }
+        manager.publishSnapshot();
+        return manager.start();
+    }
+
+    // Миграция большой выгрузки CSV: разбор идет параллельно (CsvImport), задачи загружаются в менеджер
+    // одним массовым проходом, а результат сразу записывается снимком в file. Источник не меняется.
+    public static FileBackedTaskManager importCsv(File source, File file, PersistenceOptions options) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(file, options);
+        try {
+            SnapshotData data = CsvImport.read(source.toPath());
+            manager.restoreAll(data.getTasks());
+            manager.restoreHistory(data.getHistoryIds());
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка импорта файла " + source, e);
+        }
+        manager.publishSnapshot();
+        manager.start();
+        if (options.isPaged()) {
+            // Страничный файл пишет только затронутые задачи, поэтому импорт перечисляет все
+            manager.persist(snapshotRows(manager.getSnapshot()).stream().map(JournalRecord::put)
+                    .toArray(JournalRecord[]::new));
+        }
+        manager.checkpoint();
         return manager;
     }
 
@@ -176,165 +187,491 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         prioritizedTasks.forEach(System.out::println);
     }
 
+    Path journalPath() {
+        return journalPath(file);
+    }
+
+    private static Path journalPath(File file) {
+        return file.toPath().resolveSibling(file.getName() + ".journal");
+    }
+
+    // Запускает писателя очереди и контрольные точки по времени; вызывается фабриками после загрузки
+    private FileBackedTaskManager start() {
+        if (options.getWriteQueueCapacity() > 0) {
+            writeQueue = new WriteQueue("task-persistence-writer", options.getWriteQueueCapacity(), this::writeBatch, metrics);
+        }
+        long interval = options.getCheckpointIntervalMillis();
+        if (journal != null && interval > 0) {
+            checkpointTask = PersistenceThreads.scheduler().scheduleWithFixedDelay(this::checkpointQuietly,
+                    interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    // Файлы закрываются и после ошибки фоновой записи, сама ошибка пробрасывается вызывающему
+    @Override
+    public void close() throws IOException {
+        if (checkpointTask != null) {
+            checkpointTask.cancel(false);
+        }
+        try {
+            flushHistory();
+        } finally {
+            closeStorage();
+        }
+    }
+
+    private void closeStorage() throws IOException {
+        try {
+            if (writeQueue != null) {
+                writeQueue.close();
+            }
+        } finally {
+            if (journal != null) {
+                journal.close();
+            }
+            if (pages != null) {
+                pages.close();
+            }
+        }
+    }
+
+    // Записывает накопленные просмотры: в журнале — одной записью VIEW, в режиме снимка — перезаписью файла
+    public void flushHistory() {
+        synchronized (this) {
+            historyFlushScheduled = false;
+            historyFlushRequested = false;
+            if (pendingViewCount == 0) {
+                return;
+            }
+        }
+        persist();
+    }
+
+    // Ждет записи всех изменений, поставленных в очередь до вызова. Без очереди запись и так синхронная
+    public void awaitPersisted() {
+        if (writeQueue == null) {
+            return;
+        }
+        try {
+            writeQueue.flush();
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка фоновой записи", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException("Прервано ожидание фоновой записи", e);
+        }
+    }
+
     @Override
     public void addTask(BaseTask task) {
         super.addTask(task);
-        save();
+        persist(JournalRecord.put(task));
     }
 
     @Override
     public void addSubtask(Subtask subtask) {
         super.addSubtask(subtask);
-        save();
+        persist(JournalRecord.put(subtask));
     }
 
     @Override
     public void addEpic(EpicTask epic) {
         super.addEpic(epic);
-        save();
+        persist(JournalRecord.put(epic));
+    }
+
+    @Override
+    public void addAll(List<? extends BaseTask> batch) {
+        super.addAll(batch);
+        persist(batch.stream().map(JournalRecord::put).toArray(JournalRecord[]::new));
     }
 
     @Override
     public void updateTask(BaseTask task) {
         super.updateTask(task);
-        save();
+        // Задача с неизвестным ID не обновляется, и записывать нечего
+        if (tasks.get(task.getId()) == task) {
+            persist(JournalRecord.put(task));
+        }
     }
 
     @Override
     public void updateSubtask(Subtask subtask) {
         super.updateSubtask(subtask);
-        save();
+        persist(JournalRecord.put(subtask));
     }
 
     @Override
     public void updateEpic(EpicTask epic) {
         super.updateEpic(epic);
-        save();
+        persist(JournalRecord.put(epic));
     }
 
     @Override
     public void deleteTask(int id) {
         super.deleteTask(id);
-        save();
+        persist(JournalRecord.delete(id));
     }
 
     @Override
     public void deleteSubtask(int id) {
         super.deleteSubtask(id);
-        save();
+        persist(JournalRecord.delete(id));
     }
 
     @Override
     public void deleteEpic(int id) {
         super.deleteEpic(id);
-        save();
+        persist(JournalRecord.delete(id));
     }
 
     @Override
     public void deleteAllTasks() {
         super.deleteAllTasks();
-        save();
+        persist(JournalRecord.clear(TaskType.TASK));
     }
 
     @Override
     public void deleteAllSubtasks() {
         super.deleteAllSubtasks();
-        save();
+        persist(JournalRecord.clear(TaskType.SUBTASK));
     }
 
     @Override
     public void deleteAllEpics() {
         super.deleteAllEpics();
-        save();
+        persist(JournalRecord.clear(TaskType.EPIC));
     }
 
     @Override
     public BaseTask getTaskById(int id) {
         BaseTask task = super.getTaskById(id);
-        save();
+        recordView(task);
         return task;
     }
 
     @Override
     public Subtask getSubtaskById(int id) {
         Subtask subtask = super.getSubtaskById(id);
-        save();
+        recordView(subtask);
         return subtask;
     }
 
     @Override
     public EpicTask getEpicById(int id) {
         EpicTask epic = super.getEpicById(id);
-        save();
+        recordView(epic);
         return epic;
     }
 
-    protected void save() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write(HEADER);
-            writer.newLine();
-            for (BaseTask task : getAllTasks()) {
-                writer.write(taskToString(task));
-                writer.newLine();
+    // Чтения под ConcurrentTaskManager выполняются параллельно, а запись файла должна быть последовательной.
+    // Файл заменяется атомарно, поэтому сбой во время записи не оставляет обрезанного снимка
+    protected synchronized void save() {
+        try {
+            writeSnapshotAtomically(getSnapshot(), historyIds());
+            pendingViewCount = 0;
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка сохранения менеджера задач", e);
+        }
+    }
+
+    // Контрольная точка журнала: сначала журнал переключается на новый файл (под монитором самого журнала,
+    // без блокировки менеджера), затем под блокировкой фиксируются версия состояния и история, а снимок
+    // пишется уже без блокировки — писатели продолжают работу. Запись попадает в журнал только после
+    // публикации своего изменения, поэтому все, что осталось в закрытом сегменте, уже есть в состоянии,
+    // зафиксированном после переключения. Записи, попавшие и в снимок, и в новый файл, при загрузке
+    // повторно применяются поверх снимка.
+    // Снимок публикуется атомарной заменой файла, после чего вошедшие в него сегменты журнала удаляются.
+    // Сбой между этими шагами безопасен: записи журнала идемпотентны и повторно применяются поверх снимка.
+    public void checkpoint() {
+        if (journal == null) {
+            // Снимок пишет только один поток: через очередь, если она есть
+            persist();
+            awaitPersisted();
+            return;
+        }
+        if (!checkpointRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            TaskSnapshot state;
+            List<Integer> history;
+            Path segment;
+            persist();
+            awaitPersisted();
+            segment = journal.rotate();
+            synchronized (this) {
+                state = getSnapshot();
+                history = historyIds();
             }
-            for (EpicTask epic : getAllEpics()) {
-                writer.write(taskToString(epic));
-                writer.newLine();
-                for (Subtask subtask : getSubtasksByEpicId(epic.getId())) {
-                    writer.write(taskToString(subtask));
-                    writer.newLine();
+            long bytes = writeSnapshotAtomically(state, history);
+            Journal.deleteSegmentsUpTo(journalPath(), segment);
+            metrics.recordCheckpoint(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), bytes);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка записи контрольной точки", e);
+        } finally {
+            checkpointRunning.set(false);
+        }
+    }
+
+    public PersistenceMetrics getMetrics() {
+        return metrics;
+    }
+
+    private long writeSnapshotAtomically(TaskSnapshot state, List<Integer> history) throws IOException {
+        return options.getSnapshotFormat().writeAtomically(file.toPath(), snapshotRows(state), history);
+    }
+
+    private static List<BaseTask> snapshotRows(TaskSnapshot state) {
+        List<BaseTask> rows = new ArrayList<>(state.getTasks().size() + state.getEpics().size() + state.getSubtasks().size());
+        rows.addAll(state.getTasks());
+        rows.addAll(state.getEpics());
+        rows.addAll(state.getSubtasks());
+        return rows;
+    }
+
+    private List<Integer> historyIds() {
+        return historyManager.getHistory().stream().map(BaseTask::getId).toList();
+    }
+
+    private void maybeCheckpoint() {
+        long threshold = options.getCheckpointLogBytes();
+        try {
+            if (threshold > 0 && !checkpointRunning.get() && journal.size() >= threshold) {
+                PersistenceThreads.scheduler().execute(this::checkpointQuietly);
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка чтения размера журнала", e);
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (ManagerSaveException e) {
+            System.err.println("Ошибка фоновой контрольной точки: " + e.getMessage());
+        }
+    }
+
+    // Накопленные просмотры уходят в журнал перед записями операции, чтобы сохранить порядок истории.
+    // С очередью записи под блокировкой только собирается пакет и выдается билет; место в очереди
+    // и, при Durability.SYNC, саму запись операция ждет уже вне блокировки — чтения и учет просмотров
+    // не стоят за медленным диском, а писатель может объединить пакеты.
+    private void persist(JournalRecord... records) {
+        List<JournalRecord> batch;
+        long ticket;
+        synchronized (this) {
+            boolean incremental = journal != null || pages != null;
+            if (writeQueue == null && !incremental) {
+                save();
+                return;
+            }
+            batch = new ArrayList<>(records.length + 1);
+            if (incremental && pendingViewCount > 0) {
+                batch.add(JournalRecord.view(Arrays.copyOf(pendingViews, pendingViewCount)));
+            }
+            batch.addAll(Arrays.asList(records));
+            if (incremental && batch.isEmpty()) {
+                return;
+            }
+            if (writeQueue == null) {
+                try {
+                    writeBatch(batch);
+                } catch (IOException e) {
+                    throw new ManagerSaveException("Ошибка записи журнала", e);
+                }
+                pendingViewCount = 0;
+                if (journal != null) {
+                    maybeCheckpoint();
+                }
+                return;
+            }
+            pendingViewCount = 0;
+            ticket = nextSubmitTicket++;
+        }
+        CompletableFuture<Void> done = submitInOrder(ticket, batch);
+        if (journal != null) {
+            maybeCheckpoint();
+        }
+        if (options.getDurability() == Durability.SYNC) {
+            try {
+                WriteQueue.await(done);
+            } catch (IOException e) {
+                throw new ManagerSaveException("Ошибка фоновой записи", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ManagerSaveException("Прервано ожидание фоновой записи", e);
+            }
+        }
+    }
+
+    // Билеты выдаются в порядке изменений, поэтому записи попадают в журнал в том же порядке.
+    // Прерывание во время ожидания своей очереди откладывается: пропустить билет нельзя
+    private CompletableFuture<Void> submitInOrder(long ticket, List<JournalRecord> batch) {
+        boolean interrupted = false;
+        synchronized (submitOrder) {
+            while (submitTurn != ticket) {
+                try {
+                    submitOrder.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
                 }
             }
-            writer.newLine(); // Добавляем пустую строку перед историей
-            writer.write(historyToString(historyManager));
+        }
+        try {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return writeQueue.submit(batch);
         } catch (IOException e) {
-            throw new ManagerSaveException("Ошибка сохранения менеджера задач", e);
+            throw new ManagerSaveException("Ошибка фоновой записи", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException("Прервано ожидание очереди записи", e);
+        } finally {
+            synchronized (submitOrder) {
+                submitTurn++;
+                submitOrder.notifyAll();
+            }
         }
     }
 
-    private String taskToString(BaseTask task) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(task.getId()).append(",");
-        sb.append(task instanceof SimpleTask ? "TASK" :
-                task instanceof EpicTask ? "EPIC" : "SUBTASK").append(",");
-        sb.append(task.getTitle()).append(",");
-        sb.append(task.getStatus()).append(",");
-        sb.append(task.getDescription()).append(",");
-        if (task instanceof Subtask subtask) {
-            sb.append(subtask.getEpicId()).append(",");
-        }
-        sb.append(task.getStartTime() != null ? task.getStartTime().format(BaseTask.DATE_TIME_FORMATTER) : "null").append(",");
-        sb.append(task.getDuration().toMinutes());
-        return sb.toString();
-    }
-
-    private String historyToString(HistoryManager manager) {
-        List<BaseTask> history = manager.getHistory();
-        return history.stream()
-                .map(task -> String.valueOf(task.getId()))
-                .collect(Collectors.joining(","));
-    }
-
-    private void addTaskToCollection(BaseTask task) {
-        if (isTaskOverlapping(task)) {
-            throw new IllegalArgumentException("Ошибка: задача пересекается с уже существующей задачей.");
-        }
-        if (task instanceof SimpleTask) {
-            tasks.put(task.getId(), task);
-        } else if (task instanceof EpicTask) {
-            epics.put(task.getId(), (EpicTask) task);
-        } else if (task instanceof Subtask) {
-            Subtask subtask = (Subtask) task;
-            subtasks.put(task.getId(), subtask);
-            EpicTask epic = epics.get(subtask.getEpicId());
-            if (epic != null) {
-                epic.addSubtask(subtask.getId());
+    // Пакет записей в файл текущего режима. Выполняется в потоке операции или писателем очереди,
+    // поэтому состояние для снимка и страниц берется из опубликованной версии, а не из хранилищ
+    private void writeBatch(List<JournalRecord> batch) throws IOException {
+        if (journal != null) {
+            journal.append(batch);
+        } else if (pages != null) {
+            TaskSnapshot state = getSnapshot();
+            pages.apply(batch, state::find, this::historyIds);
+        } else {
+            writeSnapshotAtomically(getSnapshot(), historyIds());
+        }
+    }
+
+    // Чтение не трогает диск: просмотр копится в памяти, а запись планируется в фоне —
+    // сразу при достижении порога или по истечении интервала после первого накопленного просмотра
+    private void recordView(BaseTask task) {
+        if (task == null) {
+            return;
+        }
+        boolean flushNow = false;
+        boolean flushLater = false;
+        synchronized (this) {
+            if (pendingViewCount == pendingViews.length) {
+                pendingViews = Arrays.copyOf(pendingViews, pendingViewCount * 2);
+            }
+            pendingViews[pendingViewCount++] = task.getId();
+            if (pendingViewCount >= options.getHistoryFlushThreshold() && !historyFlushRequested) {
+                historyFlushRequested = true;
+                flushNow = true;
+            } else if (!historyFlushScheduled) {
+                historyFlushScheduled = true;
+                flushLater = true;
+            }
+        }
+        if (flushNow) {
+            PersistenceThreads.scheduler().execute(this::flushHistoryQuietly);
+        } else if (flushLater) {
+            PersistenceThreads.scheduler().schedule(this::flushHistoryQuietly,
+                    options.getHistoryFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushHistoryQuietly() {
+        try {
+            flushHistory();
+        } catch (ManagerSaveException e) {
+            System.err.println("Ошибка фоновой записи истории: " + e.getMessage());
+        }
+    }
+
+    // Формат снимка определяется по заголовку файла, поэтому смена формата в настройках не мешает загрузке.
+    // Файл отображается в память, а хранилища и индексы строятся одним массовым проходом.
+    private void loadSnapshot() throws IOException {
+        Path path = file.toPath();
+        SnapshotData data = SnapshotFormat.detect(path).read(path);
+        restoreAll(data.getTasks());
+        restoreHistory(data.getHistoryIds());
+    }
+
+    // Каталог слотов уже построен при открытии файла; задачи загружаются тем же массовым проходом
+    private void loadPages() {
+        SnapshotData data = pages.takeLoaded();
+        restoreAll(data.getTasks());
+        restoreHistory(data.getHistoryIds());
+    }
+
+    // История восстанавливается одним проходом без записи на диск; ID ищутся среди задач всех типов
+    private void restoreHistory(List<Integer> historyIds) {
+        List<BaseTask> viewed = new ArrayList<>(historyIds.size());
+        for (int id : historyIds) {
+            BaseTask task = findStored(id);
+            if (task != null) {
+                viewed.add(task);
+            }
+        }
+        historyManager.restore(viewed);
+    }
+
+    private BaseTask findStored(int id) {
+        BaseTask task = tasks.get(id);
+        if (task == null) {
+            task = subtasks.get(id);
+        }
+        return task != null ? task : epics.get(id);
+    }
+
+    // PUT повторяет добавление или обновление, которые всегда попадают в историю
+    private void applyRecord(JournalRecord record) {
+        switch (record.getType()) {
+            case PUT -> {
+                restoreTask(record.getTask());
+                historyManager.add(record.getTask());
+            }
+            case DELETE -> {
+                int id = record.getId();
+                if (tasks.containsKey(id)) {
+                    super.deleteTask(id);
+                } else if (subtasks.containsKey(id)) {
+                    super.deleteSubtask(id);
+                } else {
+                    super.deleteEpic(id);
+                }
+            }
+            case CLEAR -> {
+                switch (record.getTaskType()) {
+                    case TASK -> super.deleteAllTasks();
+                    case SUBTASK -> super.deleteAllSubtasks();
+                    case EPIC -> super.deleteAllEpics();
+                }
+            }
+            case VIEW -> {
+                for (int id : record.getViewedIds()) {
+                    BaseTask task = findStored(id);
+                    if (task != null) {
+                        historyManager.add(task);
+                    }
+                }
             }
         }
-        prioritizedTasks.add(task);
     }
 
-    private boolean isTaskOverlapping(BaseTask task) {
-        return prioritizedTasks.stream().anyMatch(existingTask -> task.isOverlapping(existingTask));
+    private static PagedTaskFile openPages(File file, PersistenceOptions options, PersistenceMetrics metrics) {
+        try {
+            return PagedTaskFile.open(file.toPath(), options.getFsyncPolicy(), metrics);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка открытия страничного файла", e);
+        }
+    }
+
+    private static Journal openJournal(File file, PersistenceOptions options) {
+        try {
+            return Journal.open(journalPath(file), options.getFsyncPolicy(), options.getFsyncIntervalMillis());
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка открытия журнала", e);
+        }
     }
 }
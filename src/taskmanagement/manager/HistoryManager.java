@@ -10,4 +10,7 @@ public interface HistoryManager {
     void remove(int id);
 
     List<BaseTask> getHistory();
+
+    // Заменяет историю задачами в порядке просмотра, от старых к новым
+    void restore(List<BaseTask> tasks);
 }
@@ -1,13 +1,14 @@
 package taskmanagement.manager;
 
 import taskmanagement.task.BaseTask;
+import taskmanagement.util.IntObjectMap;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
+// Просмотры под ConcurrentTaskManager идут параллельно под блокировкой чтения, поэтому методы синхронизированы
 public class InMemoryHistoryManager implements HistoryManager {
-    private final HashMap<Integer, Node> nodes = new HashMap<>();
+    private final IntObjectMap<Node> nodes = new IntObjectMap<>();
     private Node head;
     private Node tail;
 
@@ -57,19 +58,33 @@ public class InMemoryHistoryManager implements HistoryManager {
     }
 
     @Override
-    public void add(BaseTask task) {
+    public synchronized void add(BaseTask task) {
         if (task == null) return;
         removeNode(nodes.get(task.getId()));
         linkLast(task);
     }
 
     @Override
-    public void remove(int id) {
+    public synchronized void remove(int id) {
         removeNode(nodes.get(id));
     }
 
+    // Один проход по списку при загрузке; повторный просмотр, как и в add, переносит задачу в конец
     @Override
-    public List<BaseTask> getHistory() {
+    public synchronized void restore(List<BaseTask> tasks) {
+        nodes.clear();
+        head = null;
+        tail = null;
+        for (BaseTask task : tasks) {
+            if (task != null) {
+                removeNode(nodes.get(task.getId()));
+                linkLast(task);
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<BaseTask> getHistory() {
         return getTasks();
     }
 
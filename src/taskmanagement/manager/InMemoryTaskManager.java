@@ -4,51 +4,85 @@ import taskmanagement.status.TaskStatus;
 import taskmanagement.task.BaseTask;
 import taskmanagement.task.EpicTask;
 import taskmanagement.task.Subtask;
+import taskmanagement.util.IntObjectMap;
+import taskmanagement.util.IntSet;
+import taskmanagement.util.PersistentSortedMap;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class InMemoryTaskManager implements TaskManager {
-    protected final HashMap<Integer, BaseTask> tasks = new HashMap<>();
-    protected final HashMap<Integer, Subtask> subtasks = new HashMap<>();
-    protected final HashMap<Integer, EpicTask> epics = new HashMap<>();
+    protected final TaskStore<BaseTask> tasks = new TaskStore<>();
+    protected final TaskStore<Subtask> subtasks = new TaskStore<>();
+    protected final TaskStore<EpicTask> epics = new TaskStore<>();
     protected final HistoryManager historyManager = Managers.getDefaultHistory();
-    protected final TreeSet<BaseTask> prioritizedTasks = new TreeSet<>(Comparator.comparing(BaseTask::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())));
-    protected int nextId = 1;
+    private PersistentSortedMap<TaskSnapshot.TimeKey, BaseTask> prioritizedTasks = TaskSnapshot.EMPTY.prioritized();
+    private final IntervalIndex intervalIndex = new IntervalIndex();
+    private final IntObjectMap<EpicTimeline> epicTimelines = new IntObjectMap<>();
+    protected final AtomicInteger nextId = new AtomicInteger(1);
+    private volatile TaskSnapshot snapshot = TaskSnapshot.EMPTY;
 
     @Override
     public List<BaseTask> getAllTasks() {
-        return new ArrayList<>(tasks.values());
+        return snapshot.getTasks();
     }
 
     @Override
     public List<Subtask> getAllSubtasks() {
-        return new ArrayList<>(subtasks.values());
+        return snapshot.getSubtasks();
     }
 
     @Override
     public List<EpicTask> getAllEpics() {
-        return new ArrayList<>(epics.values());
+        return snapshot.getEpics();
+    }
+
+    @Override
+    public List<BaseTask> getTasksByStatus(TaskStatus status) {
+        return snapshot.getTasks(status);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return snapshot.getSubtasks(status);
+    }
+
+    @Override
+    public List<EpicTask> getEpicsByStatus(TaskStatus status) {
+        return snapshot.getEpics(status);
+    }
+
+    @Override
+    public TaskSnapshot getSnapshot() {
+        return snapshot;
     }
 
     @Override
     public BaseTask getTaskById(int id) {
-        return tasks.get(id);
+        BaseTask task = tasks.get(id);
+        addToHistory(task);
+        return task;
     }
 
     @Override
     public Subtask getSubtaskById(int id) {
-        return subtasks.get(id);
+        Subtask task = subtasks.get(id);
+        addToHistory(task);
+        return task;
     }
 
     @Override
     public EpicTask getEpicById(int id) {
-        return epics.get(id);
+        EpicTask task = epics.get(id);
+        addToHistory(task);
+        return task;
     }
 
     @Override
@@ -56,10 +90,19 @@ public class InMemoryTaskManager implements TaskManager {
         if (isTaskOverlapping(task)) {
             throw new IllegalArgumentException("Ошибка: задача пересекается с уже существующей задачей.");
         }
-        task.setId(nextId++);
+        task.setId(nextId.getAndIncrement());
         tasks.put(task.getId(), task);
         addToHistory(task);
         addToPrioritizedTasks(task);
+        publishSnapshot();
+    }
+
+    // Задача ставится в первый подходящий промежуток не раньше notBefore
+    @Override
+    public void addTaskToFreeSlot(BaseTask task, LocalDateTime notBefore) {
+        List<TimeSlot> slots = snapshot.findFreeSlots(task.getDuration(), notBefore, null, 1);
+        task.setStartTime(slots.get(0).getStart());
+        addTask(task);
     }
 
     @Override
@@ -71,53 +114,96 @@ public class InMemoryTaskManager implements TaskManager {
         if (isTaskOverlapping(subtask)) {
             throw new IllegalArgumentException("Ошибка: подзадача пересекается с уже существующей задачей.");
         }
-        subtask.setId(nextId++);
+        subtask.setId(nextId.getAndIncrement());
         subtasks.put(subtask.getId(), subtask);
-        epic.addSubtask(subtask.getId());
-        updateEpicStatus(epic);
+        linkSubtask(epic, subtask);
         addToHistory(subtask);
         addToPrioritizedTasks(subtask);
+        publishSnapshot();
     }
 
     @Override
     public void addEpic(EpicTask epic) {
-        epic.setId(nextId++);
+        epic.setId(nextId.getAndIncrement());
+        epic.clearSubtasks();
         epics.put(epic.getId(), epic);
+        timelineOf(epic).applyTo(epic);
         addToHistory(epic);
-        addToPrioritizedTasks(epic);
+        publishSnapshot();
+    }
+
+    @Override
+    public void addAll(List<? extends BaseTask> batch) {
+        validateBatch(batch);
+        IntObjectMap<EpicTask> affectedEpics = new IntObjectMap<>();
+        // Временный ID эпика пакета -> эпик с выданным ID
+        IntObjectMap<EpicTask> batchEpics = new IntObjectMap<>();
+        for (BaseTask task : batch) {
+            if (task instanceof EpicTask epic && epic.getId() != null) {
+                batchEpics.put(epic.getId(), epic);
+            } else if (task instanceof Subtask subtask && batchEpics.containsKey(subtask.getEpicId())) {
+                subtask.setEpicId(batchEpics.get(subtask.getEpicId()).getId());
+            }
+            task.setId(nextId.getAndIncrement());
+            if (task instanceof EpicTask epic) {
+                epic.clearSubtasks();
+                epics.put(epic.getId(), epic);
+                timelineOf(epic).applyTo(epic);
+            } else if (task instanceof Subtask subtask) {
+                EpicTask epic = epics.get(subtask.getEpicId());
+                subtasks.put(subtask.getId(), subtask);
+                epic.addSubtask(subtask.getId(), subtask.getStatus());
+                timelineOf(epic).put(subtask);
+                affectedEpics.put(epic.getId(), epic);
+            } else {
+                tasks.put(task.getId(), task);
+            }
+            addToHistory(task);
+            addToPrioritizedTasks(task);
+        }
+        affectedEpics.values().forEach(epic -> {
+            timelineOf(epic).applyTo(epic);
+            epics.reindexStatus(epic);
+        });
+        publishSnapshot();
     }
 
     @Override
     public void updateTask(BaseTask task) {
         if (tasks.containsKey(task.getId())) {
-            prioritizedTasks.remove(tasks.get(task.getId()));
             if (isTaskOverlapping(task)) {
-                prioritizedTasks.add(tasks.get(task.getId()));
                 throw new IllegalArgumentException("Ошибка: обновленная задача пересекается с уже существующей задачей.");
             }
+            removeFromPrioritizedTasks(tasks.get(task.getId()));
             tasks.put(task.getId(), task);
             addToHistory(task);
             addToPrioritizedTasks(task);
+            publishSnapshot();
         }
     }
 
     @Override
     public void updateSubtask(Subtask subtask) {
         if (subtasks.containsKey(subtask.getId())) {
-            prioritizedTasks.remove(subtasks.get(subtask.getId()));
+            EpicTask epic = epics.get(subtask.getEpicId());
+            if (epic == null) {
+                throw new IllegalArgumentException("Ошибка: Эпик для подзадачи с ID " + subtask.getId() + " не найден.");
+            }
             if (isTaskOverlapping(subtask)) {
-                prioritizedTasks.add(subtasks.get(subtask.getId()));
                 throw new IllegalArgumentException("Ошибка: обновленная подзадача пересекается с уже существующей задачей.");
             }
-            subtasks.put(subtask.getId(), subtask);
-            EpicTask epic = epics.get(subtask.getEpicId());
-            if (epic != null) {
-                updateEpicStatus(epic);
-            } else {
-                throw new IllegalArgumentException("Ошибка: Эпик для подзадачи с ID " + subtask.getId() + " не найден.");
+            Subtask oldSubtask = subtasks.put(subtask.getId(), subtask);
+            removeFromPrioritizedTasks(oldSubtask);
+            if (oldSubtask.getEpicId() != subtask.getEpicId()) {
+                EpicTask oldEpic = epics.get(oldSubtask.getEpicId());
+                if (oldEpic != null) {
+                    unlinkSubtask(oldEpic, subtask.getId());
+                }
             }
+            linkSubtask(epic, subtask);
             addToHistory(subtask);
             addToPrioritizedTasks(subtask);
+            publishSnapshot();
         } else {
             throw new IllegalArgumentException("Ошибка: Подзадача с ID " + subtask.getId() + " не найдена для обновления.");
         }
@@ -125,9 +211,14 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public void updateEpic(EpicTask epic) {
-        epics.put(epic.getId(), epic);
+        EpicTask oldEpic = epics.put(epic.getId(), epic);
+        if (oldEpic != null && oldEpic != epic) {
+            epic.inheritSubtasks(oldEpic);
+        }
+        timelineOf(epic).applyTo(epic);
+        epics.reindexStatus(epic);
         addToHistory(epic);
-        updatePrioritizedTasks(epic);
+        publishSnapshot();
     }
 
     @Override
@@ -135,7 +226,8 @@ public class InMemoryTaskManager implements TaskManager {
         BaseTask task = tasks.remove(id);
         if (task != null) {
             historyManager.remove(id);
-            prioritizedTasks.remove(task);
+            removeFromPrioritizedTasks(task);
+            publishSnapshot();
         }
     }
 
@@ -145,11 +237,11 @@ public class InMemoryTaskManager implements TaskManager {
         if (subtask != null) {
             EpicTask epic = epics.get(subtask.getEpicId());
             if (epic != null) {
-                epic.removeSubtask(id);
-                updateEpicStatus(epic);
+                unlinkSubtask(epic, id);
             }
             historyManager.remove(id);
-            prioritizedTasks.remove(subtask);
+            removeFromPrioritizedTasks(subtask);
+            publishSnapshot();
         }
     }
 
@@ -162,29 +254,34 @@ public class InMemoryTaskManager implements TaskManager {
                     .filter(Objects::nonNull)
                     .forEach(subtask -> {
                         historyManager.remove(subtask.getId());
-                        prioritizedTasks.remove(subtask);
+                        removeFromPrioritizedTasks(subtask);
                     });
+            epicTimelines.remove(id);
             historyManager.remove(id);
-            prioritizedTasks.remove(epic);
+            publishSnapshot();
         }
     }
 
     @Override
     public void deleteAllTasks() {
-        tasks.keySet().forEach(historyManager::remove);
-        prioritizedTasks.removeAll(tasks.values());
+        tasks.forEachKey(historyManager::remove);
+        tasks.values().forEach(this::removeFromPrioritizedTasks);
         tasks.clear();
+        publishSnapshot();
     }
 
     @Override
     public void deleteAllSubtasks() {
-        subtasks.keySet().forEach(historyManager::remove);
-        prioritizedTasks.removeAll(subtasks.values());
+        subtasks.forEachKey(historyManager::remove);
+        subtasks.values().forEach(this::removeFromPrioritizedTasks);
         subtasks.clear();
+        epicTimelines.clear();
         epics.values().forEach(epic -> {
-            epic.getSubtaskIds().clear();
-            updateEpicStatus(epic);
+            epic.clearSubtasks();
+            timelineOf(epic).applyTo(epic);
+            epics.reindexStatus(epic);
         });
+        publishSnapshot();
     }
 
     @Override
@@ -195,12 +292,13 @@ public class InMemoryTaskManager implements TaskManager {
                     .filter(Objects::nonNull)
                     .forEach(subtask -> {
                         historyManager.remove(subtask.getId());
-                        prioritizedTasks.remove(subtask);
+                        removeFromPrioritizedTasks(subtask);
                     });
             historyManager.remove(epic.getId());
-            prioritizedTasks.remove(epic);
         });
         epics.clear();
+        epicTimelines.clear();
+        publishSnapshot();
     }
 
     @Override
@@ -210,57 +308,262 @@ public class InMemoryTaskManager implements TaskManager {
                 .collect(Collectors.toList());
     }
 
-    private void updateEpicStatus(EpicTask epic) {
-        List<Subtask> subtasksList = epic.getSubtaskIds().stream()
-                .map(subtasks::get)
-                .filter(Objects::nonNull)
-                .toList();
+    private void addToHistory(BaseTask task) {
+        if (task != null) {
+            historyManager.add(task);
+        }
+    }
 
-        if (subtasksList.isEmpty()) {
-            epic.setStatus(TaskStatus.NEW);
-            return;
+    // Пакет проверяется целиком до первого изменения. Подзадача ссылается на существующий эпик или на эпик,
+    // стоящий в пакете раньше нее, по его временному ID. Пересечения ищутся одним проходом: задачи пакета,
+    // отсортированные по началу, сливаются с приоритетным списком. Окончания пакета и существующих задач
+    // отслеживаются раздельно, поэтому пересечения существующих задач между собой пакет не отклоняют.
+    private void validateBatch(List<? extends BaseTask> batch) {
+        IntSet batchEpicIds = new IntSet();
+        List<BaseTask> timedTasks = new ArrayList<>();
+        for (BaseTask task : batch) {
+            if (task instanceof EpicTask epic && epic.getId() != null && !batchEpicIds.add(epic.getId())) {
+                throw new IllegalArgumentException("Ошибка: временный ID эпика " + epic.getId() + " повторяется в пакете. Пакет не добавлен.");
+            }
+            if (task instanceof Subtask subtask && !batchEpicIds.contains(subtask.getEpicId())
+                    && !epics.containsKey(subtask.getEpicId())) {
+                throw new IllegalArgumentException("Ошибка: Эпик с ID " + subtask.getEpicId() + " не найден. Пакет не добавлен.");
+            }
+            if (task.getStartTime() != null && !(task instanceof EpicTask)) {
+                timedTasks.add(task);
+            }
+        }
+        timedTasks.sort(Comparator.comparing(BaseTask::getStartTime));
+        Iterator<BaseTask> existing = prioritizedTasks.values().iterator();
+        BaseTask nextExisting = existing.hasNext() ? existing.next() : null;
+        LocalDateTime batchEnd = null;
+        LocalDateTime existingEnd = null;
+        for (BaseTask task : timedTasks) {
+            while (nextExisting != null && !nextExisting.getStartTime().isAfter(task.getStartTime())) {
+                if (batchEnd != null && !batchEnd.isBefore(nextExisting.getStartTime())) {
+                    throw existingOverlap();
+                }
+                existingEnd = later(existingEnd, nextExisting.getEndTime());
+                nextExisting = existing.hasNext() ? existing.next() : null;
+            }
+            if (existingEnd != null && !existingEnd.isBefore(task.getStartTime())) {
+                throw existingOverlap();
+            }
+            if (batchEnd != null && !batchEnd.isBefore(task.getStartTime())) {
+                throw new IllegalArgumentException("Ошибка: задачи пакета пересекаются между собой. Пакет не добавлен.");
+            }
+            batchEnd = later(batchEnd, task.getEndTime());
+        }
+        // Из оставшихся существующих задач раньше всех начинается первая: достаточно проверить ее
+        if (nextExisting != null && batchEnd != null && !batchEnd.isBefore(nextExisting.getStartTime())) {
+            throw existingOverlap();
         }
+    }
+
+    private static IllegalArgumentException existingOverlap() {
+        return new IllegalArgumentException("Ошибка: задача пакета пересекается с уже существующей задачей. Пакет не добавлен.");
+    }
+
+    private static LocalDateTime later(LocalDateTime current, LocalDateTime candidate) {
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
 
-        boolean allNew = subtasksList.stream().allMatch(subtask -> subtask.getStatus() == TaskStatus.NEW);
-        boolean allDone = subtasksList.stream().allMatch(subtask -> subtask.getStatus() == TaskStatus.DONE);
-        boolean anyInProgress = subtasksList.stream().anyMatch(subtask -> subtask.getStatus() == TaskStatus.IN_PROGRESS);
-        boolean anyDone = subtasksList.stream().anyMatch(subtask -> subtask.getStatus() == TaskStatus.DONE);
-
-        if (allNew) {
-            epic.setStatus(TaskStatus.NEW);
-        } else if (allDone) {
-            epic.setStatus(TaskStatus.DONE);
-        } else if (anyInProgress || anyDone) {
-            epic.setStatus(TaskStatus.IN_PROGRESS);
+    // Вставка или замена задачи с готовым ID для восстановления из файла. Пересечения не проверяются:
+    // данные проверены при записи, а время в файле хранится с точностью до минуты.
+    // История и снимок не меняются — вызывающий публикует снимок после загрузки.
+    protected void restoreTask(BaseTask task) {
+        int id = task.getId();
+        if (task instanceof EpicTask epic) {
+            EpicTask previous = epics.put(id, epic);
+            if (previous == null) {
+                epic.clearSubtasks();
+            } else if (previous != epic) {
+                epic.inheritSubtasks(previous);
+            }
+            timelineOf(epic).applyTo(epic);
+            epics.reindexStatus(epic);
+        } else if (task instanceof Subtask subtask) {
+            Subtask previous = subtasks.put(id, subtask);
+            if (previous != null && previous.getEpicId() != subtask.getEpicId()) {
+                EpicTask oldEpic = epics.get(previous.getEpicId());
+                if (oldEpic != null) {
+                    unlinkSubtask(oldEpic, id);
+                }
+            }
+            EpicTask epic = epics.get(subtask.getEpicId());
+            if (epic != null) {
+                linkSubtask(epic, subtask);
+            }
+            addToPrioritizedTasks(subtask);
         } else {
-            epic.setStatus(TaskStatus.NEW);
+            tasks.put(id, task);
+            addToPrioritizedTasks(task);
         }
+        nextId.accumulateAndGet(id + 1, Math::max);
     }
 
-    private void addToHistory(BaseTask task) {
-        if (task != null) {
-            historyManager.add(task);
+    // Загрузка в пустой менеджер: хранилища, приоритетный список и индекс пересечений строятся
+    // одним проходом по отсортированным данным вместо n вставок в деревья. Как и restoreTask,
+    // не проверяет пересечения и не меняет историю и снимок. При повторе ID побеждает последняя запись.
+    protected void restoreAll(List<BaseTask> loaded) {
+        if (!tasks.isEmpty() || !subtasks.isEmpty() || !epics.isEmpty()) {
+            loaded.forEach(this::restoreTask);
+            return;
         }
+        List<BaseTask> simpleTasks = new ArrayList<>();
+        List<EpicTask> loadedEpics = new ArrayList<>();
+        List<Subtask> loadedSubtasks = new ArrayList<>();
+        for (BaseTask task : loaded) {
+            if (task instanceof EpicTask epic) {
+                loadedEpics.add(epic);
+            } else if (task instanceof Subtask subtask) {
+                loadedSubtasks.add(subtask);
+            } else {
+                simpleTasks.add(task);
+            }
+        }
+        simpleTasks = lastById(simpleTasks);
+        loadedEpics = lastById(loadedEpics);
+        loadedSubtasks = lastById(loadedSubtasks);
+
+        // Статусы и время эпиков вычисляются до построения индексов, чтобы не переиндексировать их
+        IntObjectMap<EpicTask> epicsById = new IntObjectMap<>();
+        for (EpicTask epic : loadedEpics) {
+            epic.clearSubtasks();
+            epicsById.put(epic.getId(), epic);
+        }
+        for (Subtask subtask : loadedSubtasks) {
+            EpicTask epic = epicsById.get(subtask.getEpicId());
+            if (epic != null) {
+                epic.addSubtask(subtask.getId(), subtask.getStatus());
+                timelineOf(epic).put(subtask);
+            }
+        }
+        for (EpicTask epic : loadedEpics) {
+            timelineOf(epic).applyTo(epic);
+        }
+        tasks.load(simpleTasks);
+        epics.load(loadedEpics);
+        subtasks.load(loadedSubtasks);
+
+        List<BaseTask> timed = new ArrayList<>();
+        for (BaseTask task : simpleTasks) {
+            if (task.getStartTime() != null) {
+                timed.add(task);
+            }
+        }
+        for (Subtask subtask : loadedSubtasks) {
+            if (subtask.getStartTime() != null) {
+                timed.add(subtask);
+            }
+        }
+        timed.sort(Comparator.comparing(BaseTask::getStartTime).thenComparingInt(BaseTask::getId));
+        List<TaskSnapshot.TimeKey> keys = new ArrayList<>(timed.size());
+        for (BaseTask task : timed) {
+            keys.add(new TaskSnapshot.TimeKey(task.getStartTime(), task.getId()));
+        }
+        prioritizedTasks = PersistentSortedMap.fromSorted(TaskSnapshot.TIME_ORDER, keys, timed);
+        intervalIndex.build(timed);
+
+        int maxId = 0;
+        for (BaseTask task : loaded) {
+            maxId = Math.max(maxId, task.getId());
+        }
+        nextId.accumulateAndGet(maxId + 1, Math::max);
     }
 
-    private void addToPrioritizedTasks(BaseTask task) {
-        if (task.getStartTime() != null) {
-            prioritizedTasks.add(task);
+    // Сортирует по ID, оставляя для каждого ID последнюю по порядку задачу
+    private static <T extends BaseTask> List<T> lastById(List<T> loaded) {
+        loaded.sort(Comparator.comparingInt(BaseTask::getId));
+        List<T> result = new ArrayList<>(loaded.size());
+        for (T task : loaded) {
+            if (!result.isEmpty() && result.get(result.size() - 1).getId().equals(task.getId())) {
+                result.set(result.size() - 1, task);
+            } else {
+                result.add(task);
+            }
         }
+        return result;
     }
 
-    private void updatePrioritizedTasks(BaseTask task) {
-        prioritizedTasks.remove(task);
-        addToPrioritizedTasks(task);
+    protected void linkSubtask(EpicTask epic, Subtask subtask) {
+        epic.addSubtask(subtask.getId(), subtask.getStatus());
+        EpicTimeline timeline = timelineOf(epic);
+        timeline.put(subtask);
+        timeline.applyTo(epic);
+        epics.reindexStatus(epic);
+    }
+
+    private void unlinkSubtask(EpicTask epic, int subtaskId) {
+        epic.removeSubtask(subtaskId);
+        EpicTimeline timeline = timelineOf(epic);
+        timeline.remove(subtaskId);
+        timeline.applyTo(epic);
+        epics.reindexStatus(epic);
+    }
+
+    private EpicTimeline timelineOf(EpicTask epic) {
+        EpicTimeline timeline = epicTimelines.get(epic.getId());
+        if (timeline == null) {
+            timeline = new EpicTimeline();
+            epicTimelines.put(epic.getId(), timeline);
+        }
+        return timeline;
+    }
+
+    // Время эпика вычисляется по подзадачам, поэтому в приоритетный список и проверку пересечений он не попадает
+    protected void addToPrioritizedTasks(BaseTask task) {
+        removeFromPrioritizedTasks(task);
+        if (task.getStartTime() != null && !(task instanceof EpicTask)) {
+            intervalIndex.add(task);
+            prioritizedTasks = prioritizedTasks.put(new TaskSnapshot.TimeKey(task.getStartTime(), task.getId()), task);
+        }
+    }
+
+    // Удаление идёт по времени, с которым задача была проиндексирована, а не по текущему полю объекта
+    protected void removeFromPrioritizedTasks(BaseTask task) {
+        LocalDateTime indexedStart = intervalIndex.remove(task.getId());
+        if (indexedStart != null) {
+            prioritizedTasks = prioritizedTasks.remove(new TaskSnapshot.TimeKey(indexedStart, task.getId()));
+        }
+    }
+
+    // Публикует новую версию снимка; вызывается в конце каждой изменяющей операции
+    protected void publishSnapshot() {
+        snapshot = snapshot.next(tasks.version(), subtasks.version(), epics.version(), prioritizedTasks);
     }
 
     @Override
     public List<BaseTask> getPrioritizedTasks() {
-        return new ArrayList<>(prioritizedTasks);
+        return snapshot.getPrioritizedTasks();
+    }
+
+    @Override
+    public List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return snapshot.getPrioritizedTasks(from, to);
+    }
+
+    @Override
+    public List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, TaskCursor after, int limit) {
+        return snapshot.getPrioritizedTasks(from, to, after, limit);
+    }
+
+    @Override
+    public List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter, int count) {
+        return snapshot.findFreeSlots(duration, notBefore, notAfter, count);
+    }
+
+    @Override
+    public List<BaseTask> getOverlappingTasks(BaseTask task) {
+        if (task.getStartTime() == null) {
+            return new ArrayList<>();
+        }
+        List<BaseTask> overlapping = intervalIndex.findOverlapping(task.getStartTime(), task.getEndTime());
+        overlapping.removeIf(existingTask -> Objects.equals(existingTask.getId(), task.getId()));
+        return overlapping;
     }
 
-    private boolean isTaskOverlapping(BaseTask task) {
-        return prioritizedTasks.stream()
-                .anyMatch(existingTask -> existingTask.getId() != task.getId() && task.isOverlapping(existingTask));
+    protected boolean isTaskOverlapping(BaseTask task) {
+        return !getOverlappingTasks(task).isEmpty();
     }
 }
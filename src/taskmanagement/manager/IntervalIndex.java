@@ -0,0 +1,208 @@
+package taskmanagement.manager;
+
+import taskmanagement.task.BaseTask;
+import taskmanagement.util.IntObjectMap;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Интервальное AVL-дерево по времени начала: узел хранит максимальное время окончания
+// в своём поддереве, поэтому поиск пересечений стоит O(log n + k)
+class IntervalIndex {
+    private final IntObjectMap<Node> nodesById = new IntObjectMap<>();
+    private Node root;
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    public void add(BaseTask task) {
+        if (task.getStartTime() == null) {
+            return;
+        }
+        remove(task.getId());
+        Node node = new Node(task);
+        root = insert(root, node);
+        nodesById.put(task.getId(), node);
+    }
+
+    // Возвращает время начала, с которым задача была проиндексирована, или null
+    public LocalDateTime remove(int id) {
+        Node node = nodesById.remove(id);
+        if (node == null) {
+            return null;
+        }
+        root = delete(root, node.start, node.id);
+        return node.start;
+    }
+
+    public void clear() {
+        nodesById.clear();
+        root = null;
+    }
+
+    // Заменяет содержимое индекса задачами, упорядоченными по началу и ID, строя дерево за O(n)
+    public void build(List<BaseTask> sortedByStart) {
+        clear();
+        root = build(sortedByStart, 0, sortedByStart.size());
+    }
+
+    public List<BaseTask> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<BaseTask> result = new ArrayList<>();
+        collectOverlapping(root, start, end, result);
+        return result;
+    }
+
+    // Границы включительные — так же, как в BaseTask.isOverlapping
+    private void collectOverlapping(Node node, LocalDateTime start, LocalDateTime end, List<BaseTask> result) {
+        if (node == null || node.maxEnd.isBefore(start)) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, result);
+        if (node.start.isAfter(end)) {
+            return;
+        }
+        if (!node.end.isBefore(start)) {
+            result.add(node.task);
+        }
+        collectOverlapping(node.right, start, end, result);
+    }
+
+    private Node build(List<BaseTask> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node node = new Node(sorted.get(mid));
+        nodesById.put(node.id, node);
+        node.left = build(sorted, from, mid);
+        node.right = build(sorted, mid + 1, to);
+        update(node);
+        return node;
+    }
+
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compare(newNode.start, newNode.id, node) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, LocalDateTime start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = deleteMin(node.right);
+            successor.left = node.left;
+            successor.right = node.right;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(LocalDateTime start, int id, Node node) {
+        int cmp = start.compareTo(node.start);
+        return cmp != 0 ? cmp : Integer.compare(id, node.id);
+    }
+
+    private Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static class Node {
+        final BaseTask task;
+        final int id;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        LocalDateTime maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(BaseTask task) {
+            this.task = task;
+            this.id = task.getId();
+            this.start = task.getStartTime();
+            this.end = task.getEndTime();
+            this.maxEnd = end;
+        }
+    }
+}
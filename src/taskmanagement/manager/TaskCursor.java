@@ -0,0 +1,64 @@
+package taskmanagement.manager;
+
+import taskmanagement.task.BaseTask;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+// Позиция в приоритетном списке: следующая страница начинается строго после пары (начало, ID).
+// В строковом виде — время в ISO-формате с полной точностью и ID через подчеркивание.
+public final class TaskCursor {
+    private static final char SEPARATOR = '_';
+
+    private final LocalDateTime start;
+    private final int id;
+
+    public TaskCursor(LocalDateTime start, int id) {
+        this.start = Objects.requireNonNull(start, "Начало задачи в курсоре не может быть пустым");
+        this.id = id;
+    }
+
+    public static TaskCursor after(BaseTask task) {
+        return new TaskCursor(task.getStartTime(), task.getId());
+    }
+
+    public static TaskCursor parse(String value) {
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Ошибка: некорректный курсор " + value);
+        }
+        try {
+            return new TaskCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Integer.parseInt(value.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ошибка: некорректный курсор " + value, e);
+        }
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskCursor that = (TaskCursor) o;
+        return id == that.id && start.equals(that.start);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, id);
+    }
+
+    @Override
+    public String toString() {
+        return start.toString() + SEPARATOR + id;
+    }
+}
@@ -1,10 +1,13 @@
 package taskmanagement.manager;
 
 import taskmanagement.exceptions.NotFoundException;
+import taskmanagement.status.TaskStatus;
 import taskmanagement.task.BaseTask;
 import taskmanagement.task.EpicTask;
 import taskmanagement.task.Subtask;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TaskManager {
@@ -14,6 +17,12 @@ public interface TaskManager {
 
     List<EpicTask> getAllEpics();
 
+    List<BaseTask> getTasksByStatus(TaskStatus status);
+
+    List<Subtask> getSubtasksByStatus(TaskStatus status);
+
+    List<EpicTask> getEpicsByStatus(TaskStatus status);
+
     BaseTask getTaskById(int id) throws NotFoundException;
 
     Subtask getSubtaskById(int id) throws NotFoundException;
@@ -26,6 +35,8 @@ public interface TaskManager {
 
     void addEpic(EpicTask epic);
 
+    void addAll(List<? extends BaseTask> batch);
+
     void updateTask(BaseTask task) throws NotFoundException;
 
     void updateSubtask(Subtask subtask) throws NotFoundException;
@@ -47,4 +58,21 @@ public interface TaskManager {
     List<Subtask> getSubtasksByEpicId(int epicId) throws NotFoundException;
 
     List<BaseTask> getPrioritizedTasks();
+
+    List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, TaskCursor after, int limit);
+
+    List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter, int count);
+
+    void addTaskToFreeSlot(BaseTask task, LocalDateTime notBefore);
+
+    List<BaseTask> getOverlappingTasks(BaseTask task);
+
+    TaskSnapshot getSnapshot();
+
+    // Номер версии состояния, растет с каждым изменением; версии отдельных коллекций — в TaskSnapshot
+    default long getVersion() {
+        return getSnapshot().getVersion();
+    }
 }
@@ -0,0 +1,244 @@
+package taskmanagement.manager;
+
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.Subtask;
+import taskmanagement.util.PersistentSortedMap;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Неизменяемая версия состояния менеджера. Построена на персистентных деревьях,
+// поэтому публикация новой версии стоит O(log n), а чтение не требует блокировок и копирования.
+// Объекты задач разделяются с менеджером: неизменяемы состав и порядок, а не сами задачи.
+public final class TaskSnapshot {
+    static final Comparator<TimeKey> TIME_ORDER = Comparator.<TimeKey, LocalDateTime>comparing(key -> key.start)
+            .thenComparingInt(key -> key.id);
+    static final TaskSnapshot EMPTY = new TaskSnapshot(0, new long[4],
+            TaskStore.Version.empty(),
+            TaskStore.Version.empty(),
+            TaskStore.Version.empty(),
+            PersistentSortedMap.empty(TIME_ORDER));
+    private static final int TASKS = 0;
+    private static final int SUBTASKS = 1;
+    private static final int EPICS = 2;
+    private static final int PRIORITIZED = 3;
+
+    private final long version;
+    // Версия снимка, в которой последний раз менялась коллекция: [задачи, подзадачи, эпики, приоритетный список]
+    private final long[] collectionVersions;
+    private final TaskStore.Version<BaseTask> tasks;
+    private final TaskStore.Version<Subtask> subtasks;
+    private final TaskStore.Version<EpicTask> epics;
+    private final PersistentSortedMap<TimeKey, BaseTask> prioritized;
+
+    TaskSnapshot(long version,
+                 long[] collectionVersions,
+                 TaskStore.Version<BaseTask> tasks,
+                 TaskStore.Version<Subtask> subtasks,
+                 TaskStore.Version<EpicTask> epics,
+                 PersistentSortedMap<TimeKey, BaseTask> prioritized) {
+        this.version = version;
+        this.collectionVersions = collectionVersions;
+        this.tasks = tasks;
+        this.subtasks = subtasks;
+        this.epics = epics;
+        this.prioritized = prioritized;
+    }
+
+    // Номер версии растет с каждым изменением менеджера
+    public long getVersion() {
+        return version;
+    }
+
+    // Версии коллекций меняются, только когда меняется их содержимое. Эпики зависят и от подзадач:
+    // статус и время эпика пересчитываются на месте, без замены объекта в хранилище
+    public long getTasksVersion() {
+        return collectionVersions[TASKS];
+    }
+
+    public long getSubtasksVersion() {
+        return collectionVersions[SUBTASKS];
+    }
+
+    public long getEpicsVersion() {
+        return collectionVersions[EPICS];
+    }
+
+    public long getPrioritizedVersion() {
+        return collectionVersions[PRIORITIZED];
+    }
+
+    // Следующая версия снимка; коллекции сравниваются с текущими по ссылкам на деревья, за O(1)
+    TaskSnapshot next(TaskStore.Version<BaseTask> tasks,
+                      TaskStore.Version<Subtask> subtasks,
+                      TaskStore.Version<EpicTask> epics,
+                      PersistentSortedMap<TimeKey, BaseTask> prioritized) {
+        long next = version + 1;
+        boolean tasksChanged = !tasks.sameAs(this.tasks);
+        boolean subtasksChanged = !subtasks.sameAs(this.subtasks);
+        long[] versions = collectionVersions.clone();
+        if (tasksChanged) {
+            versions[TASKS] = next;
+        }
+        if (subtasksChanged) {
+            versions[SUBTASKS] = next;
+        }
+        if (subtasksChanged || !epics.sameAs(this.epics)) {
+            versions[EPICS] = next;
+        }
+        if (tasksChanged || subtasksChanged || prioritized != this.prioritized) {
+            versions[PRIORITIZED] = next;
+        }
+        return new TaskSnapshot(next, versions, tasks, subtasks, epics, prioritized);
+    }
+
+    public List<BaseTask> getTasks() {
+        return tasks.all.values();
+    }
+
+    public List<Subtask> getSubtasks() {
+        return subtasks.all.values();
+    }
+
+    public List<EpicTask> getEpics() {
+        return epics.all.values();
+    }
+
+    // Выборки по статусу читаются из отдельных деревьев индекса, без фильтрации всей доски
+    public List<BaseTask> getTasks(TaskStatus status) {
+        return tasks.byStatus.get(status).values();
+    }
+
+    public List<Subtask> getSubtasks(TaskStatus status) {
+        return subtasks.byStatus.get(status).values();
+    }
+
+    public List<EpicTask> getEpics(TaskStatus status) {
+        return epics.byStatus.get(status).values();
+    }
+
+    public List<BaseTask> getPrioritizedTasks() {
+        return prioritized.values();
+    }
+
+    // Задачи с началом в [from, to); пустая граница означает отсутствие ограничения
+    public List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return getPrioritizedTasks(from, to, null, Integer.MAX_VALUE);
+    }
+
+    // Страница окна строго после курсора. Границы находятся по рангу в дереве за O(log n),
+    // результат — представление без копирования, поэтому стоимость не зависит от размера доски
+    public List<BaseTask> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, TaskCursor after, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Ошибка: лимит не может быть отрицательным");
+        }
+        int lower = from == null ? 0 : prioritized.rank(new TimeKey(from, Integer.MIN_VALUE));
+        if (after != null) {
+            TimeKey afterKey = new TimeKey(after.getStart(), after.getId());
+            int afterRank = prioritized.rank(afterKey) + (prioritized.get(afterKey) != null ? 1 : 0);
+            lower = Math.max(lower, afterRank);
+        }
+        int upper = to == null ? prioritized.size() : prioritized.rank(new TimeKey(to, Integer.MIN_VALUE));
+        if (lower >= upper) {
+            return List.of();
+        }
+        return prioritized.values().subList(lower, upper - lower > limit ? lower + limit : upper);
+    }
+
+    // Первые count промежутков в [notBefore, notAfter], куда помещается задача заданной длительности.
+    // Задачи на шкале не пересекаются, поэтому достаточно одного прохода от задачи, предшествующей notBefore.
+    // Границы пересечения включительные, а время в API задается с точностью до минуты,
+    // поэтому промежуток начинается со следующей минуты после задачи и заканчивается за минуту до следующей.
+    public List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter, int count) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Ошибка: длительность должна быть положительной");
+        }
+        if (notBefore == null) {
+            throw new IllegalArgumentException("Ошибка: не задано начало поиска свободного времени");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Ошибка: количество промежутков не может быть отрицательным");
+        }
+        LocalDateTime limit = notAfter == null ? null : notAfter.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime candidate = ceilToMinute(notBefore);
+        List<TimeSlot> slots = new ArrayList<>();
+        int first = Math.max(0, prioritized.rank(new TimeKey(notBefore, Integer.MIN_VALUE)) - 1);
+        List<BaseTask> timeline = prioritized.values();
+        for (BaseTask task : timeline.subList(first, timeline.size())) {
+            if (slots.size() >= count || (limit != null && candidate.isAfter(limit))) {
+                return slots;
+            }
+            LocalDateTime latestEnd = floorBeforeMinute(task.getStartTime());
+            if (limit != null && limit.isBefore(latestEnd)) {
+                latestEnd = limit;
+            }
+            TimeSlot slot = new TimeSlot(candidate, latestEnd);
+            if (slot.fits(duration)) {
+                slots.add(slot);
+            }
+            LocalDateTime afterTask = task.getEndTime().truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+            if (afterTask.isAfter(candidate)) {
+                candidate = afterTask;
+            }
+        }
+        if (slots.size() < count && (limit == null || !candidate.isAfter(limit))) {
+            TimeSlot slot = new TimeSlot(candidate, limit);
+            if (slot.fits(duration)) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    // Задача любого типа по ID, O(log n); просмотром не считается
+    public BaseTask find(int id) {
+        BaseTask task = tasks.all.get(id);
+        if (task == null) {
+            task = subtasks.all.get(id);
+        }
+        return task != null ? task : epics.all.get(id);
+    }
+
+    // Поиск в коллекции одного типа: ID задачи другого типа дает null
+    public BaseTask findTask(int id) {
+        return tasks.all.get(id);
+    }
+
+    public Subtask findSubtask(int id) {
+        return subtasks.all.get(id);
+    }
+
+    public EpicTask findEpic(int id) {
+        return epics.all.get(id);
+    }
+
+    PersistentSortedMap<TimeKey, BaseTask> prioritized() {
+        return prioritized;
+    }
+
+    private static LocalDateTime ceilToMinute(LocalDateTime time) {
+        LocalDateTime truncated = time.truncatedTo(ChronoUnit.MINUTES);
+        return truncated.equals(time) ? time : truncated.plusMinutes(1);
+    }
+
+    // Последняя целая минута строго раньше заданного времени
+    private static LocalDateTime floorBeforeMinute(LocalDateTime time) {
+        return ceilToMinute(time).minusMinutes(1);
+    }
+
+    static final class TimeKey {
+        final LocalDateTime start;
+        final int id;
+
+        TimeKey(LocalDateTime start, int id) {
+            this.start = start;
+            this.id = id;
+        }
+    }
+}
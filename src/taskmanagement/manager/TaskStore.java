@@ -0,0 +1,156 @@
+package taskmanagement.manager;
+
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.util.IntObjectMap;
+import taskmanagement.util.PersistentSortedMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+// Хранилище задач одного типа: IntObjectMap для поиска по ID за O(1) и персистентные деревья —
+// общее и по каждому статусу, — версии которых публикуются в снимках TaskSnapshot
+public class TaskStore<T extends BaseTask> {
+    private final IntObjectMap<T> byId = new IntObjectMap<>();
+    private PersistentSortedMap<Integer, T> tree = PersistentSortedMap.empty(Comparator.naturalOrder());
+    // Статус, с которым задача проиндексирована: объект могут изменить на месте до вызова update
+    private final IntObjectMap<TaskStatus> indexedStatuses = new IntObjectMap<>();
+    private final EnumMap<TaskStatus, PersistentSortedMap<Integer, T>> byStatus = Version.emptyByStatus();
+
+    public T get(int id) {
+        return byId.get(id);
+    }
+
+    public boolean containsKey(int id) {
+        return byId.containsKey(id);
+    }
+
+    public T put(int id, T task) {
+        T previous = byId.put(id, task);
+        tree = tree.put(id, task);
+        indexStatus(id, task);
+        return previous;
+    }
+
+    public T remove(int id) {
+        T previous = byId.remove(id);
+        if (previous != null) {
+            tree = tree.remove(id);
+            unindexStatus(id);
+        }
+        return previous;
+    }
+
+    // Переносит задачу в индекс ее текущего статуса, если статус изменился без put (например, у эпика)
+    public void reindexStatus(T task) {
+        if (byId.get(task.getId()) == task && indexedStatuses.get(task.getId()) != task.getStatus()) {
+            indexStatus(task.getId(), task);
+        }
+    }
+
+    // Заменяет содержимое задачами, упорядоченными по ID, без поэлементных вставок в деревья
+    public void load(List<T> sortedById) {
+        clear();
+        List<Integer> ids = new ArrayList<>(sortedById.size());
+        EnumMap<TaskStatus, List<Integer>> statusIds = new EnumMap<>(TaskStatus.class);
+        EnumMap<TaskStatus, List<T>> statusTasks = new EnumMap<>(TaskStatus.class);
+        for (T task : sortedById) {
+            int id = task.getId();
+            byId.put(id, task);
+            ids.add(id);
+            TaskStatus status = task.getStatus();
+            if (status != null) {
+                indexedStatuses.put(id, status);
+                statusIds.computeIfAbsent(status, key -> new ArrayList<>()).add(id);
+                statusTasks.computeIfAbsent(status, key -> new ArrayList<>()).add(task);
+            }
+        }
+        tree = PersistentSortedMap.fromSorted(Comparator.naturalOrder(), ids, sortedById);
+        statusIds.forEach((status, keys) ->
+                byStatus.put(status, PersistentSortedMap.fromSorted(Comparator.naturalOrder(), keys, statusTasks.get(status))));
+    }
+
+    public void clear() {
+        byId.clear();
+        tree = tree.clear();
+        indexedStatuses.clear();
+        byStatus.replaceAll((status, statusTree) -> statusTree.clear());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    public Collection<T> values() {
+        return byId.values();
+    }
+
+    public void forEachKey(IntConsumer action) {
+        byId.forEachKey(action);
+    }
+
+    Version<T> version() {
+        return new Version<>(tree, new EnumMap<>(byStatus));
+    }
+
+    private void indexStatus(int id, T task) {
+        unindexStatus(id);
+        TaskStatus status = task.getStatus();
+        if (status != null) {
+            indexedStatuses.put(id, status);
+            byStatus.put(status, byStatus.get(status).put(id, task));
+        }
+    }
+
+    private void unindexStatus(int id) {
+        TaskStatus status = indexedStatuses.remove(id);
+        if (status != null) {
+            byStatus.put(status, byStatus.get(status).remove(id));
+        }
+    }
+
+    // Неизменяемая версия хранилища для снимка
+    static final class Version<T> {
+        final PersistentSortedMap<Integer, T> all;
+        final Map<TaskStatus, PersistentSortedMap<Integer, T>> byStatus;
+
+        Version(PersistentSortedMap<Integer, T> all, Map<TaskStatus, PersistentSortedMap<Integer, T>> byStatus) {
+            this.all = all;
+            this.byStatus = byStatus;
+        }
+
+        // Та же версия хранилища: деревья персистентные, поэтому любое изменение дает новые ссылки
+        boolean sameAs(Version<T> other) {
+            if (all != other.all) {
+                return false;
+            }
+            for (Map.Entry<TaskStatus, PersistentSortedMap<Integer, T>> entry : byStatus.entrySet()) {
+                if (entry.getValue() != other.byStatus.get(entry.getKey())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static <T> Version<T> empty() {
+            return new Version<>(PersistentSortedMap.empty(Comparator.naturalOrder()), emptyByStatus());
+        }
+
+        static <T> EnumMap<TaskStatus, PersistentSortedMap<Integer, T>> emptyByStatus() {
+            EnumMap<TaskStatus, PersistentSortedMap<Integer, T>> byStatus = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status, PersistentSortedMap.empty(Comparator.naturalOrder()));
+            }
+            return byStatus;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package taskmanagement.persistence;
+
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+import taskmanagement.task.TaskType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// Двоичный формат снимка, версия 2: MAGIC, номер версии и блоки [длина (int)][CRC32C (int)][данные].
+// Данные блока: вид (byte), число элементов (varint), элементы. Задачи идут блоками до BLOCK_BYTES,
+// затем блок истории и завершающий блок END с общим числом задач и ID истории. Снимок без END или
+// с несовпавшей контрольной суммой считается поврежденным и не загружается. Версия 1 — те же
+// задачи и история подряд, без блоков и контрольных сумм — по-прежнему читается.
+// Задача: тип и статус (по байту, порядковые номера), ID (varint), начало — минуты от эпохи UTC
+// (zigzag varlong, 0 — нет начала, иначе значение + 1), длительность в минутах (varlong),
+// название и описание (длина varint + UTF-8), у подзадачи — ID эпика (varint).
+// Разбор идет прямо по байтам, без разбиения строк и DateTimeFormatter.
+public final class BinaryTaskFormat {
+    static final byte[] MAGIC = {'T', 'K', 'B'};
+    static final int HEADER_LENGTH = MAGIC.length + 1;
+    private static final byte VERSION = 2;
+    private static final int BLOCK_BYTES = 64 * 1024;
+    private static final int BLOCK_HEADER = Integer.BYTES * 2;
+    private static final byte BLOCK_TASKS = 0;
+    private static final byte BLOCK_HISTORY = 1;
+    private static final byte BLOCK_END = 2;
+
+    private BinaryTaskFormat() {
+    }
+
+    public static void writeSnapshot(OutputStream out, List<? extends BaseTask> tasks, List<Integer> historyIds)
+            throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+        ByteArrayOutputStream items = new ByteArrayOutputStream(BLOCK_BYTES + 1024);
+        int count = 0;
+        for (BaseTask task : tasks) {
+            writeTask(items, task);
+            count++;
+            if (items.size() >= BLOCK_BYTES) {
+                writeBlock(out, BLOCK_TASKS, count, items);
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            writeBlock(out, BLOCK_TASKS, count, items);
+        }
+        for (int id : historyIds) {
+            writeVarLong(items, id);
+        }
+        writeBlock(out, BLOCK_HISTORY, historyIds.size(), items);
+        writeVarLong(items, historyIds.size());
+        writeBlock(out, BLOCK_END, tasks.size(), items);
+    }
+
+    public static SnapshotData readSnapshot(ByteBuffer in) {
+        if (!hasMagic(in)) {
+            throw new IllegalArgumentException("Неверный заголовок двоичного снимка");
+        }
+        byte version = in.get(in.position() + MAGIC.length);
+        in.position(in.position() + HEADER_LENGTH);
+        return version == 1 ? readVersion1(in) : readBlocks(in);
+    }
+
+    public static boolean hasMagic(ByteBuffer in) {
+        if (in.remaining() < HEADER_LENGTH) {
+            return false;
+        }
+        byte[] header = new byte[MAGIC.length];
+        in.get(in.position(), header);
+        byte version = in.get(in.position() + MAGIC.length);
+        return Arrays.equals(header, MAGIC) && version >= 1 && version <= VERSION;
+    }
+
+    private static void writeBlock(OutputStream out, byte kind, int count, ByteArrayOutputStream items) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(items.size() + 8);
+        payload.write(kind);
+        writeVarLong(payload, count);
+        items.writeTo(payload);
+        items.reset();
+        byte[] bytes = payload.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER).putInt(bytes.length).putInt((int) crc.getValue());
+        out.write(header.array());
+        out.write(bytes);
+    }
+
+    private static SnapshotData readBlocks(ByteBuffer in) {
+        List<BaseTask> tasks = new ArrayList<>();
+        List<Integer> historyIds = new ArrayList<>();
+        while (true) {
+            int offset = in.position();
+            if (in.remaining() < BLOCK_HEADER) {
+                throw new IllegalArgumentException("Снимок обрезан: нет завершающего блока (смещение " + offset + ")");
+            }
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length <= 0 || length > in.remaining()) {
+                throw new IllegalArgumentException("Снимок обрезан: неполный блок (смещение " + offset + ")");
+            }
+            ByteBuffer payload = in.slice(in.position(), length);
+            in.position(in.position() + length);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw new IllegalArgumentException("Контрольная сумма блока не совпадает (смещение " + offset + ")");
+            }
+            byte kind = payload.get();
+            int count = (int) readVarLong(payload);
+            switch (kind) {
+                case BLOCK_TASKS -> {
+                    for (int i = 0; i < count; i++) {
+                        tasks.add(readTask(payload));
+                    }
+                }
+                case BLOCK_HISTORY -> {
+                    for (int i = 0; i < count; i++) {
+                        historyIds.add((int) readVarLong(payload));
+                    }
+                }
+                case BLOCK_END -> {
+                    if (count != tasks.size() || readVarLong(payload) != historyIds.size()) {
+                        throw new IllegalArgumentException("Число записей снимка не совпадает с завершающим блоком");
+                    }
+                    return new SnapshotData(tasks, historyIds);
+                }
+                default -> throw new IllegalArgumentException("Неизвестный вид блока " + kind + " (смещение " + offset + ")");
+            }
+        }
+    }
+
+    private static SnapshotData readVersion1(ByteBuffer in) {
+        int taskCount = (int) readVarLong(in);
+        List<BaseTask> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(readTask(in));
+        }
+        int historyCount = (int) readVarLong(in);
+        List<Integer> historyIds = new ArrayList<>(historyCount);
+        for (int i = 0; i < historyCount; i++) {
+            historyIds.add((int) readVarLong(in));
+        }
+        return new SnapshotData(tasks, historyIds);
+    }
+
+    public static byte[] encodeTask(BaseTask task) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        try {
+            writeTask(out, task);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static void writeTask(OutputStream out, BaseTask task) throws IOException {
+        out.write(TaskType.of(task).ordinal());
+        out.write(task.getStatus().ordinal());
+        writeVarLong(out, task.getId());
+        LocalDateTime start = task.getStartTime();
+        writeVarLong(out, start == null ? 0 : zigzag(start.toEpochSecond(ZoneOffset.UTC) / 60) + 1);
+        writeVarLong(out, task.getDuration().toMinutes());
+        writeString(out, task.getTitle());
+        writeString(out, task.getDescription());
+        if (task instanceof Subtask subtask) {
+            writeVarLong(out, subtask.getEpicId());
+        }
+    }
+
+    public static BaseTask readTask(ByteBuffer in) {
+        TaskType type = TaskType.values()[in.get()];
+        TaskStatus status = TaskStatus.values()[in.get()];
+        int id = (int) readVarLong(in);
+        long start = readVarLong(in);
+        long duration = readVarLong(in);
+        String title = readString(in);
+        String description = readString(in);
+        BaseTask task = switch (type) {
+            case TASK -> new SimpleTask(title, description);
+            case EPIC -> new EpicTask(title, description);
+            case SUBTASK -> new Subtask(title, description, (int) readVarLong(in));
+        };
+        task.setId(id);
+        task.setStatus(status);
+        task.setStartTime(start == 0 ? null : LocalDateTime.ofEpochSecond(unzigzag(start - 1) * 60, 0, ZoneOffset.UTC));
+        task.setDuration(Duration.ofMinutes(duration));
+        return task;
+    }
+
+    // Строка: длина + 1 (0 — null), затем байты UTF-8
+    private static void writeString(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+
+    // Беззнаковый varint: по 7 бит на байт, старший бит — признак продолжения
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Слишком длинное число varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,11 @@
+package taskmanagement.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Снимок не прошел проверку контрольной суммы или обрезан; такой файл не загружается
+public class CorruptSnapshotException extends IOException {
+    public CorruptSnapshotException(Path path, Throwable cause) {
+        super("Снимок поврежден: " + path + ": " + cause.getMessage(), cause);
+    }
+}
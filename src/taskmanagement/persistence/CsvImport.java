@@ -0,0 +1,164 @@
+package taskmanagement.persistence;
+
+import taskmanagement.exceptions.CsvImportException;
+import taskmanagement.task.BaseTask;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Параллельный импорт больших выгрузок CSV. Строки задач делятся на фрагменты по границам строк,
+// фрагменты разбираются в ForkJoinPool, результаты склеиваются в порядке файла. Связи эпиков
+// и подзадач и история восстанавливаются уже после склейки, при загрузке в менеджер.
+// Ошибки собираются по всем строкам и сообщаются вместе, с номером строки и смещением фрагмента.
+public final class CsvImport {
+    static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+
+    private CsvImport() {
+    }
+
+    public static SnapshotData read(Path path) throws IOException {
+        return read(path, ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    public static SnapshotData read(Path path, ForkJoinPool pool, int chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), pool, chunkBytes);
+        }
+    }
+
+    public static SnapshotData parse(ByteBuffer in, ForkJoinPool pool, int chunkBytes) {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Ошибка: размер фрагмента должен быть положительным");
+        }
+        int limit;
+        try {
+            limit = CsvTaskFormat.verifiedLimit(in);
+        } catch (IllegalArgumentException e) {
+            throw new CsvImportException(List.of(e.getMessage()));
+        }
+        int bodyStart = CsvTaskFormat.nextLine(in, in.position(), limit); // Пропускаем заголовок
+        // История — последняя строка файла, перед ней пустая строка; ищем их с конца, не читая весь файл.
+        // Если пустой строки нет, истории тоже нет, и последняя строка считается задачей
+        int lastLineStart = lineStart(in, bodyStart, limit);
+        int bodyEnd = limit;
+        int historyStart = limit;
+        if (lastLineStart > bodyStart) {
+            int blankStart = lineStart(in, bodyStart, lastLineStart - 1);
+            if (CsvTaskFormat.lineEnd(in, blankStart, limit) == blankStart) {
+                bodyEnd = blankStart;
+                historyStart = lastLineStart;
+            }
+        }
+
+        List<Chunk> chunks = new ArrayList<>();
+        for (int start = bodyStart; start < bodyEnd; ) {
+            int end = start + chunkBytes >= bodyEnd ? bodyEnd : CsvTaskFormat.nextLine(in, start + chunkBytes, bodyEnd);
+            chunks.add(new Chunk(in, start, end));
+            start = end;
+        }
+        pool.invoke(new ParseTask(chunks, 0, chunks.size()));
+
+        List<BaseTask> tasks = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int firstLine = 2;
+        for (Chunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+            for (LineError error : chunk.errors) {
+                errors.add(String.format("строка %d (смещение %d, фрагмент с %d): %s",
+                        firstLine + error.lineInChunk, error.offset, chunk.start, error.message));
+            }
+            firstLine += chunk.lines;
+        }
+        if (!errors.isEmpty()) {
+            throw new CsvImportException(errors);
+        }
+        List<Integer> historyIds;
+        try {
+            historyIds = CsvTaskFormat.historyFromBytes(in, historyStart, CsvTaskFormat.lineEnd(in, historyStart, limit));
+        } catch (IllegalArgumentException e) {
+            throw new CsvImportException(List.of(String.format("строка %d (смещение %d): история: %s",
+                    firstLine + 1, historyStart, e.getMessage())));
+        }
+        return new SnapshotData(tasks, historyIds);
+    }
+
+    // Начало строки, которая заканчивается в позиции end (на символе \n или в конце данных)
+    private static int lineStart(ByteBuffer in, int from, int end) {
+        int start = end;
+        while (start > from && in.get(start - 1) != '\n') {
+            start--;
+        }
+        return start;
+    }
+
+    private static final class Chunk {
+        final ByteBuffer in;
+        final int start;
+        final int end;
+        final List<BaseTask> tasks = new ArrayList<>();
+        final List<LineError> errors = new ArrayList<>();
+        int lines;
+
+        Chunk(ByteBuffer in, int start, int end) {
+            this.in = in;
+            this.start = start;
+            this.end = end;
+        }
+
+        void parse() {
+            for (int position = start; position < end; position = CsvTaskFormat.nextLine(in, position, end)) {
+                int lineEnd = CsvTaskFormat.lineEnd(in, position, end);
+                try {
+                    tasks.add(CsvTaskFormat.taskFromBytes(in, position, lineEnd));
+                } catch (RuntimeException e) {
+                    errors.add(new LineError(lines, position, e.getMessage()));
+                }
+                lines++;
+            }
+        }
+    }
+
+    private static final class LineError {
+        final int lineInChunk;
+        final int offset;
+        final String message;
+
+        LineError(int lineInChunk, int offset, String message) {
+            this.lineInChunk = lineInChunk;
+            this.offset = offset;
+            this.message = message;
+        }
+    }
+
+    private static final class ParseTask extends RecursiveTask<Void> {
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+
+        ParseTask(List<Chunk> chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    chunks.get(from).parse();
+                }
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParseTask(chunks, from, mid), new ParseTask(chunks, mid, to));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package taskmanagement.persistence;
+
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+import taskmanagement.task.TaskType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+// Строковый формат задач: одна строка CSV на задачу в порядке колонок HEADER, кодировка UTF-8
+public final class CsvTaskFormat {
+    public static final String HEADER = "id,type,name,status,description,epic,startTime,duration";
+    public static final String CHECKSUM_PREFIX = "#crc32c=";
+    private static final int COLUMNS = 8;
+
+    private CsvTaskFormat() {
+    }
+
+    public static String taskToString(BaseTask task) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(task.getId()).append(",");
+        sb.append(TaskType.of(task)).append(",");
+        sb.append(task.getTitle()).append(",");
+        sb.append(task.getStatus()).append(",");
+        sb.append(task.getDescription()).append(",");
+        // Колонка epic есть у каждой строки, у задач и эпиков она пустая
+        if (task instanceof Subtask subtask) {
+            sb.append(subtask.getEpicId());
+        }
+        sb.append(",");
+        sb.append(task.getStartTime() != null ? task.getStartTime().format(BaseTask.DATE_TIME_FORMATTER) : "null").append(",");
+        sb.append(task.getDuration().toMinutes());
+        return sb.toString();
+    }
+
+    public static BaseTask taskFromString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return taskFromBytes(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    // Разбирает строку задачи в байтах [from, to) буфера, не создавая промежуточных строк:
+    // числа, тип, статус и время читаются прямо из байтов, строки создаются только для названия и описания
+    public static BaseTask taskFromBytes(ByteBuffer in, int from, int to) {
+        int[] commas = new int[COLUMNS - 1];
+        int found = 0;
+        for (int i = from; i < to && found < commas.length; i++) {
+            if (in.get(i) == ',') {
+                commas[found++] = i;
+            }
+        }
+        if (found < commas.length - 1) {
+            throw new IllegalArgumentException("Неверный формат строки задачи: " + decode(in, from, to));
+        }
+        TaskType type = parseEnum(in, commas[0] + 1, commas[1], TaskType.values());
+        // Строки задач и эпиков из старых файлов идут без колонки epic: id,type,name,status,description,startTime,duration
+        boolean withEpic = found == commas.length;
+        if (!withEpic && type == TaskType.SUBTASK) {
+            throw new IllegalArgumentException("Неверный формат строки подзадачи: " + decode(in, from, to));
+        }
+        int startFrom = withEpic ? commas[5] + 1 : commas[4] + 1;
+        int startTo = withEpic ? commas[6] : commas[5];
+        int durationFrom = startTo + 1;
+        // Лишние колонки, как и раньше при split, не учитываются
+        int durationEnd = to;
+        for (int i = durationFrom; i < to; i++) {
+            if (in.get(i) == ',') {
+                durationEnd = i;
+                break;
+            }
+        }
+        int id = (int) parseLong(in, from, commas[0]);
+        String title = decode(in, commas[1] + 1, commas[2]);
+        TaskStatus status = parseEnum(in, commas[2] + 1, commas[3], TaskStatus.values());
+        String description = decode(in, commas[3] + 1, commas[4]);
+        LocalDateTime startTime = parseDateTime(in, startFrom, startTo);
+        Duration duration = Duration.ofMinutes(parseLong(in, durationFrom, durationEnd));
+
+        BaseTask task = switch (type) {
+            case TASK -> new SimpleTask(title, description);
+            case EPIC -> new EpicTask(title, description);
+            case SUBTASK -> {
+                if (commas[4] + 1 == commas[5]) {
+                    throw new IllegalArgumentException("Неверный формат строки подзадачи: " + decode(in, from, to));
+                }
+                yield new Subtask(title, description, (int) parseLong(in, commas[4] + 1, commas[5]));
+            }
+        };
+        task.setId(id);
+        task.setStatus(status);
+        task.setStartTime(startTime);
+        task.setDuration(duration);
+        return task;
+    }
+
+    // Снимок: заголовок, строки задач, пустая строка, строка истории и строка с CRC32C всех байтов до нее.
+    // Эпики должны идти раньше своих подзадач, чтобы при загрузке подзадача сразу привязывалась к эпику.
+    public static void writeSnapshot(OutputStream out, List<? extends BaseTask> tasks, List<Integer> historyIds)
+            throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(out, new CRC32C());
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(checked, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.newLine();
+        for (BaseTask task : tasks) {
+            writer.write(taskToString(task));
+            writer.newLine();
+        }
+        writer.newLine(); // Добавляем пустую строку перед историей
+        writer.write(historyToString(historyIds));
+        writer.newLine();
+        writer.flush();
+        out.write(String.format("%s%08x", CHECKSUM_PREFIX, checked.getChecksum().getValue()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Конец содержимого снимка без строки контрольной суммы. Если строка есть, сумма проверяется;
+    // файл без нее (старый снимок или выгрузка) принимается как есть
+    static int verifiedLimit(ByteBuffer in) {
+        int limit = in.limit();
+        int trailerStart = limit;
+        while (trailerStart > in.position() && in.get(trailerStart - 1) != '\n') {
+            trailerStart--;
+        }
+        if (!startsWith(in, trailerStart, limit, CHECKSUM_PREFIX)) {
+            return limit;
+        }
+        long expected;
+        try {
+            expected = Long.parseLong(decode(in, trailerStart + CHECKSUM_PREFIX.length(), limit).trim(), 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Неверная строка контрольной суммы снимка", e);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(in.slice(in.position(), trailerStart - in.position()));
+        if (crc.getValue() != expected) {
+            throw new IllegalArgumentException("Контрольная сумма снимка не совпадает");
+        }
+        int end = trailerStart - 1;
+        return end > in.position() && in.get(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    // Читает снимок из буфера (обычно отображенного в память файла) в кодировке UTF-8.
+    // Снимок без контрольной суммы должен дойти до пустой строки перед историей, иначе он обрезан
+    public static SnapshotData readSnapshot(ByteBuffer in) {
+        int limit = verifiedLimit(in);
+        boolean checked = limit != in.limit();
+        int position = nextLine(in, in.position(), limit); // Пропускаем заголовок
+        List<BaseTask> tasks = new ArrayList<>();
+        boolean complete = false;
+        while (position < limit) {
+            int lineEnd = lineEnd(in, position, limit);
+            if (lineEnd == position) {
+                position = nextLine(in, position, limit);
+                complete = true;
+                break; // Достигли пустой строки перед историей
+            }
+            tasks.add(taskFromBytes(in, position, lineEnd));
+            position = nextLine(in, position, limit);
+        }
+        if (!checked && !complete) {
+            throw new IllegalArgumentException("Снимок обрезан: нет пустой строки перед историей");
+        }
+        List<Integer> historyIds = historyFromBytes(in, position, lineEnd(in, position, limit));
+        return new SnapshotData(tasks, historyIds);
+    }
+
+    public static List<Integer> historyFromBytes(ByteBuffer in, int from, int to) {
+        List<Integer> historyIds = new ArrayList<>();
+        if (to > from) {
+            int idStart = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || in.get(i) == ',') {
+                    historyIds.add((int) parseLong(in, idStart, i));
+                    idStart = i + 1;
+                }
+            }
+        }
+        return historyIds;
+    }
+
+    public static String historyToString(List<Integer> historyIds) {
+        return historyIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    public static List<Integer> historyFromString(String value) {
+        List<Integer> taskIds = new ArrayList<>();
+        if (value != null && !value.isEmpty()) {
+            String[] ids = value.split(",");
+            for (String id : ids) {
+                taskIds.add(Integer.parseInt(id));
+            }
+        }
+        return taskIds;
+    }
+
+    // Конец строки без завершающих \r и \n
+    static int lineEnd(ByteBuffer in, int from, int limit) {
+        int end = from;
+        while (end < limit && in.get(end) != '\n') {
+            end++;
+        }
+        return end > from && in.get(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    static int nextLine(ByteBuffer in, int from, int limit) {
+        int position = from;
+        while (position < limit && in.get(position) != '\n') {
+            position++;
+        }
+        return Math.min(position + 1, limit);
+    }
+
+    private static long parseLong(ByteBuffer in, int from, int to) {
+        boolean negative = from < to && in.get(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i >= to) {
+            throw new NumberFormatException("Ожидалось число: \"" + decode(in, from, to) + "\"");
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = in.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Ожидалось число: \"" + decode(in, from, to) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(ByteBuffer in, int from, int to, E[] values) {
+        for (E value : values) {
+            if (matches(in, from, to, value.name())) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестное значение: " + decode(in, from, to));
+    }
+
+    // Время в формате BaseTask.DATE_TIME_FORMATTER ("HH:mm dd.MM.yy") читается по фиксированным позициям
+    private static LocalDateTime parseDateTime(ByteBuffer in, int from, int to) {
+        if (matches(in, from, to, "null")) {
+            return null;
+        }
+        if (to - from != 14 || in.get(from + 2) != ':' || in.get(from + 5) != ' '
+                || in.get(from + 8) != '.' || in.get(from + 11) != '.') {
+            return LocalDateTime.parse(decode(in, from, to), BaseTask.DATE_TIME_FORMATTER);
+        }
+        return LocalDateTime.of(2000 + (int) parseLong(in, from + 12, from + 14),
+                (int) parseLong(in, from + 9, from + 11),
+                (int) parseLong(in, from + 6, from + 8),
+                (int) parseLong(in, from, from + 2),
+                (int) parseLong(in, from + 3, from + 5));
+    }
+
+    private static boolean startsWith(ByteBuffer in, int from, int to, String ascii) {
+        return to - from >= ascii.length() && matches(in, from, from + ascii.length(), ascii);
+    }
+
+    private static boolean matches(ByteBuffer in, int from, int to, String ascii) {
+        if (to - from != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if (in.get(from + i) != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer in, int from, int to) {
+        if (in.hasArray()) {
+            return new String(in.array(), in.arrayOffset() + from, to - from, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[to - from];
+        in.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,9 @@
+package taskmanagement.persistence;
+
+// Чего ждет изменяющая операция при записи через очередь WriteQueue
+public enum Durability {
+    // Операция возвращается сразу после постановки в очередь
+    ASYNC,
+    // Операция ждет, пока ее пакет будет записан (и сброшен на диск по FsyncPolicy)
+    SYNC
+}
@@ -0,0 +1,11 @@
+package taskmanagement.persistence;
+
+// Когда журнал принудительно сбрасывается на диск
+public enum FsyncPolicy {
+    // После каждой записи: ни одна подтвержденная операция не теряется
+    ALWAYS,
+    // Не реже заданного интервала: при сбое теряется не больше интервала операций
+    INTERVAL,
+    // Сброс оставлен операционной системе
+    OS
+}
@@ -0,0 +1,254 @@
+package taskmanagement.persistence;
+
+import taskmanagement.task.TaskType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Журнал изменений только на дозапись. Формат записи: длина тела (int), тип (byte), CRC32C типа и тела (int), тело.
+// Тело PUT — задача в двоичной кодировке BinaryTaskFormat, DELETE — ID, CLEAR — порядковый номер типа задач,
+// VIEW — подряд идущие ID просмотренных задач.
+// При контрольной точке активный файл переименовывается в сегмент <имя>.<номер>, а запись продолжается
+// в новый файл. Загрузка воспроизводит сегменты по возрастанию номера, затем активный файл.
+// Восстановление после сбоя останавливается на первой записи с неверной длиной или контрольной суммой
+// и обрезает активный файл по последней целой записи; порча закрытого сегмента — ошибка загрузки.
+public class Journal implements Closeable {
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private ScheduledFuture<?> syncTask;
+    private boolean unsynced;
+
+    private Journal(Path path, FileChannel channel, FsyncPolicy fsyncPolicy) {
+        this.path = path;
+        this.channel = channel;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    // Открывает журнал на дозапись (создает файл, если его нет). При политике INTERVAL сброс на диск
+    // планируется уже после создания объекта, чтобы фоновый поток не увидел его недостроенным
+    public static Journal open(Path path, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) throws IOException {
+        Journal journal = new Journal(path, openChannel(path), fsyncPolicy);
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            journal.syncTask = PersistenceThreads.fsyncScheduler().scheduleWithFixedDelay(journal::syncQuietly,
+                    fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return journal;
+    }
+
+    // Все записи пакета уходят одной операцией записи и, при политике ALWAYS, одним сбросом на диск
+    public synchronized void append(List<JournalRecord> records) throws IOException {
+        ByteBuffer buffer = encode(records);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        unsynced = true;
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            sync();
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        if (unsynced) {
+            channel.force(false);
+            unsynced = false;
+        }
+    }
+
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    // Закрывает текущий файл как сегмент со следующим номером и начинает новый; возвращает путь сегмента.
+    // Под монитором только переименование и открытие нового файла: открытый канал продолжает писать
+    // в переименованный файл, поэтому сброс и закрытие сегмента идут уже без блокировки, а новые записи
+    // сразу уходят в новый файл. При сбое журнал остается на прежнем файле
+    public Path rotate() throws IOException {
+        FileChannel previous;
+        Path segment;
+        synchronized (this) {
+            List<Path> segments = segments(path);
+            long number = segments.isEmpty() ? 1 : segmentNumber(segments.get(segments.size() - 1)) + 1;
+            segment = path.resolveSibling(path.getFileName() + "." + number);
+            Files.move(path, segment);
+            previous = channel;
+            try {
+                channel = openChannel(path);
+            } catch (IOException e) {
+                Files.move(segment, path);
+                throw e;
+            }
+            unsynced = false;
+        }
+        try (FileChannel closing = previous) {
+            closing.force(false);
+        }
+        return segment;
+    }
+
+    // Удаляет сегменты, уже вошедшие в снимок, включая заданный
+    public static void deleteSegmentsUpTo(Path path, Path lastSegment) throws IOException {
+        long last = segmentNumber(lastSegment);
+        for (Path segment : segments(path)) {
+            if (segmentNumber(segment) <= last) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    // Воспроизводит сегменты и активный файл; возвращает длину целой части активного файла
+    public static long replayAll(Path path, Consumer<JournalRecord> consumer) throws IOException {
+        for (Path segment : segments(path)) {
+            long valid = replay(segment, consumer);
+            if (valid != Files.size(segment)) {
+                throw new IOException("Сегмент журнала поврежден: " + segment + " (смещение " + valid + ")");
+            }
+        }
+        return replay(path, consumer);
+    }
+
+    // Воспроизводит журнал и отрезает недописанный или поврежденный хвост активного файла,
+    // чтобы новые записи не оказались за ним. Возвращает число отброшенных байт
+    public synchronized long recover(Consumer<JournalRecord> consumer) throws IOException {
+        long valid = replayAll(path, consumer);
+        long dropped = channel.size() - valid;
+        if (dropped > 0) {
+            channel.truncate(valid);
+            channel.force(false);
+            System.err.println("Журнал " + path + " обрезан по последней целой записи, отброшено байт: " + dropped);
+        }
+        return dropped;
+    }
+
+    public static List<Path> segments(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.length() > prefix.length()
+                                && name.substring(prefix.length()).chars().allMatch(Character::isDigit);
+                    })
+                    .sorted(Comparator.comparingLong(Journal::segmentNumber))
+                    .toList();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (syncTask != null) {
+            syncTask.cancel(false);
+        }
+        if (channel.isOpen()) {
+            sync();
+            channel.close();
+        }
+    }
+
+    // Воспроизводит журнал по порядку до первой недописанной или поврежденной записи
+    // и возвращает смещение конца последней целой записи
+    public static long replay(Path path, Consumer<JournalRecord> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            byte type = buffer.get();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining() || type < 0 || type >= JournalRecord.Type.values().length) {
+                return start;
+            }
+            byte[] body = new byte[length];
+            buffer.get(body);
+            if (checksum(type, body) != checksum) {
+                return start;
+            }
+            consumer.accept(decode(type, body));
+        }
+        return buffer.position();
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Ошибка сброса журнала на диск: " + e.getMessage());
+        }
+    }
+
+    private static ByteBuffer encode(List<JournalRecord> records) {
+        byte[][] bodies = new byte[records.size()][];
+        int total = 0;
+        for (int i = 0; i < records.size(); i++) {
+            bodies[i] = body(records.get(i));
+            total += HEADER_SIZE + bodies[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (int i = 0; i < records.size(); i++) {
+            byte type = (byte) records.get(i).getType().ordinal();
+            buffer.putInt(bodies[i].length);
+            buffer.put(type);
+            buffer.putInt(checksum(type, bodies[i]));
+            buffer.put(bodies[i]);
+        }
+        return buffer.flip();
+    }
+
+    private static int checksum(byte type, byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] body(JournalRecord record) {
+        return switch (record.getType()) {
+            case PUT -> BinaryTaskFormat.encodeTask(record.getTask());
+            case DELETE -> ByteBuffer.allocate(Integer.BYTES).putInt(record.getId()).array();
+            case CLEAR -> new byte[]{(byte) record.getTaskType().ordinal()};
+            case VIEW -> {
+                ByteBuffer body = ByteBuffer.allocate(record.getViewedIds().length * Integer.BYTES);
+                body.asIntBuffer().put(record.getViewedIds());
+                yield body.array();
+            }
+        };
+    }
+
+    private static JournalRecord decode(byte type, byte[] body) {
+        return switch (JournalRecord.Type.values()[type]) {
+            case PUT -> JournalRecord.put(BinaryTaskFormat.readTask(ByteBuffer.wrap(body)));
+            case DELETE -> JournalRecord.delete(ByteBuffer.wrap(body).getInt());
+            case CLEAR -> JournalRecord.clear(TaskType.values()[body[0]]);
+            case VIEW -> {
+                int[] viewedIds = new int[body.length / Integer.BYTES];
+                ByteBuffer.wrap(body).asIntBuffer().get(viewedIds);
+                yield JournalRecord.view(viewedIds);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package taskmanagement.persistence;
+
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.TaskType;
+
+// Запись журнала описывает результат операции, а не саму операцию: PUT — полное состояние задачи,
+// DELETE и CLEAR — удаление, VIEW — просмотры в порядке их появления в истории.
+// Поэтому повторное применение уже учтенных записей ничего не портит.
+public final class JournalRecord {
+    public enum Type {
+        PUT,
+        DELETE,
+        CLEAR,
+        VIEW
+    }
+
+    private final Type type;
+    private final BaseTask task;
+    private final int id;
+    private final TaskType taskType;
+    private final int[] viewedIds;
+
+    private JournalRecord(Type type, BaseTask task, int id, TaskType taskType, int[] viewedIds) {
+        this.type = type;
+        this.task = task;
+        this.id = id;
+        this.taskType = taskType;
+        this.viewedIds = viewedIds;
+    }
+
+    public static JournalRecord put(BaseTask task) {
+        return new JournalRecord(Type.PUT, task, task.getId(), TaskType.of(task), null);
+    }
+
+    public static JournalRecord delete(int id) {
+        return new JournalRecord(Type.DELETE, null, id, null, null);
+    }
+
+    public static JournalRecord clear(TaskType taskType) {
+        return new JournalRecord(Type.CLEAR, null, 0, taskType, null);
+    }
+
+    public static JournalRecord view(int[] viewedIds) {
+        return new JournalRecord(Type.VIEW, null, 0, null, viewedIds);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public BaseTask getTask() {
+        return task;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public TaskType getTaskType() {
+        return taskType;
+    }
+
+    public int[] getViewedIds() {
+        return viewedIds;
+    }
+}
@@ -0,0 +1,423 @@
+package taskmanagement.persistence;
+
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.Subtask;
+import taskmanagement.task.TaskType;
+import taskmanagement.util.IntObjectMap;
+import taskmanagement.util.IntSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+// Страничный файл задач: страницы по PAGE_SIZE байт, в каждой слоты по SLOT_SIZE; страница 0 — заголовок.
+// Запись занимает непрерывную серию слотов: [вид (byte)][число слотов (int)][номер версии (long)]
+// [длина (int)][CRC32C (int)], затем задача в кодировке BinaryTaskFormat или ID истории (varint).
+// Каталог слотов (ID → серия) живет в памяти и строится сканированием файла при открытии.
+// Изменение пишется копированием: новая версия — в свободные слоты, затем старая серия обнуляется.
+// Обрыв записи оставляет целой старую или новую версию: серия с неверной CRC считается свободной,
+// а из двух целых версий одной задачи побеждает большая по номеру.
+// Пишутся позиционно только затронутые слоты, поэтому цена изменения не зависит от размера доски.
+public class PagedTaskFile implements Closeable {
+    static final int PAGE_SIZE = 4096;
+    static final int SLOT_SIZE = 128;
+    private static final int SLOTS_PER_PAGE = PAGE_SIZE / SLOT_SIZE;
+    private static final byte[] MAGIC = {'T', 'K', 'P', 1};
+    private static final byte KIND_TASK = 1;
+    private static final byte KIND_HISTORY = 2;
+    private static final int RECORD_HEADER = Byte.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int HISTORY_ID = -1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final PersistenceMetrics metrics;
+    private final BitSet usedSlots = new BitSet();
+    private final IntObjectMap<Run> directory = new IntObjectMap<>();
+    private final EnumMap<TaskType, IntSet> idsByType = new EnumMap<>(TaskType.class);
+    private final IntObjectMap<IntSet> subtasksByEpic = new IntObjectMap<>();
+    private Run historyRun;
+    private int slotCount;
+    private int allocationHint;
+    private long sequence;
+    private SnapshotData loaded;
+
+    private PagedTaskFile(Path path, FileChannel channel, FsyncPolicy fsyncPolicy, PersistenceMetrics metrics) {
+        this.path = path;
+        this.channel = channel;
+        this.fsyncPolicy = fsyncPolicy;
+        this.metrics = metrics;
+        for (TaskType type : TaskType.values()) {
+            idsByType.put(type, new IntSet());
+        }
+    }
+
+    // Открывает файл (создает пустой, если его нет) и сканирует слоты
+    public static PagedTaskFile open(Path path, FsyncPolicy fsyncPolicy, PersistenceMetrics metrics) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        PagedTaskFile file = new PagedTaskFile(path, channel, fsyncPolicy, metrics);
+        try {
+            file.scan();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return file;
+    }
+
+    // Содержимое, прочитанное при открытии; отдается один раз, чтобы не держать копию в памяти
+    public synchronized SnapshotData takeLoaded() {
+        SnapshotData data = loaded;
+        loaded = new SnapshotData(List.of(), List.of());
+        return data;
+    }
+
+    // Применяет пакет изменений. Затронутые ID определяются по записям, а их текущее состояние
+    // берется через lookup: null означает, что задача удалена. Эпики не перезаписываются при изменении
+    // подзадач — их статус и время вычисляются заново при загрузке.
+    public synchronized void apply(List<JournalRecord> records, IntFunction<BaseTask> lookup,
+                                   Supplier<List<Integer>> history) throws IOException {
+        IntSet dirty = new IntSet();
+        boolean historyDirty = false;
+        for (JournalRecord record : records) {
+            switch (record.getType()) {
+                case PUT -> {
+                    dirty.add(record.getTask().getId());
+                    historyDirty = true;
+                }
+                case DELETE -> {
+                    dirty.add(record.getId());
+                    IntSet subtaskIds = subtasksByEpic.get(record.getId());
+                    if (subtaskIds != null) {
+                        subtaskIds.forEach(dirty::add);
+                    }
+                    historyDirty = true;
+                }
+                case CLEAR -> {
+                    idsByType.get(record.getTaskType()).forEach(dirty::add);
+                    if (record.getTaskType() == TaskType.EPIC) {
+                        idsByType.get(TaskType.SUBTASK).forEach(dirty::add);
+                    }
+                    historyDirty = true;
+                }
+                case VIEW -> historyDirty = true;
+            }
+        }
+
+        List<Write> writes = new ArrayList<>();
+        List<Run> freed = new ArrayList<>();
+        for (int id : dirty.toSortedArray()) {
+            BaseTask task = lookup.apply(id);
+            Run previous = task == null ? unregister(id) : register(task, writes);
+            if (previous != null) {
+                freed.add(previous);
+            }
+        }
+        if (historyDirty) {
+            Run previous = historyRun;
+            historyRun = allocate(HISTORY_ID, KIND_HISTORY, encodeHistory(history.get()), writes);
+            if (previous != null) {
+                freed.add(previous);
+            }
+        }
+        if (writes.isEmpty() && freed.isEmpty()) {
+            return;
+        }
+
+        // Сначала новые версии, затем обнуление старых: при сбое между шагами останутся обе, победит новая
+        long bytes = write(writes);
+        if (fsyncPolicy == FsyncPolicy.ALWAYS && !freed.isEmpty()) {
+            channel.force(false);
+        }
+        List<Write> clears = new ArrayList<>(freed.size());
+        for (Run run : freed) {
+            clears.add(new Write(run.first, ByteBuffer.allocate(run.count * SLOT_SIZE)));
+        }
+        bytes += write(clears);
+        for (Run run : freed) {
+            usedSlots.clear(run.first, run.first + run.count);
+            allocationHint = Math.min(allocationHint, run.first);
+        }
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            channel.force(false);
+        }
+        metrics.recordPagedWrite(countPages(writes, clears), bytes);
+    }
+
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            if (fsyncPolicy != FsyncPolicy.OS) {
+                channel.force(false);
+            }
+            channel.close();
+        }
+    }
+
+    private void scan() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE).put(MAGIC).putInt(PAGE_SIZE).putInt(SLOT_SIZE);
+            channel.write(header.clear(), 0);
+            channel.force(true);
+            loaded = new SnapshotData(new ArrayList<>(), new ArrayList<>());
+            return;
+        }
+        if (size < PAGE_SIZE) {
+            throw new CorruptSnapshotException(path, new IllegalArgumentException("Страничный файл короче заголовка"));
+        }
+        ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        byte[] magic = new byte[MAGIC.length];
+        map.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)
+                || map.getInt(MAGIC.length) != PAGE_SIZE || map.getInt(MAGIC.length + Integer.BYTES) != SLOT_SIZE) {
+            throw new CorruptSnapshotException(path, new IllegalArgumentException("Неверный заголовок страничного файла"));
+        }
+        slotCount = (int) ((size - PAGE_SIZE) / SLOT_SIZE);
+        IntObjectMap<BaseTask> tasks = new IntObjectMap<>();
+        List<Integer> historyIds = new ArrayList<>();
+        List<Run> stale = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; ) {
+            int offset = PAGE_SIZE + slot * SLOT_SIZE;
+            byte kind = map.get(offset);
+            int count = map.getInt(offset + 1);
+            long version = map.getLong(offset + 5);
+            int length = map.getInt(offset + 13);
+            int checksum = map.getInt(offset + 17);
+            if ((kind != KIND_TASK && kind != KIND_HISTORY) || count <= 0 || count > slotCount - slot
+                    || length < 0 || length > count * SLOT_SIZE - RECORD_HEADER) {
+                slot++;
+                continue;
+            }
+            ByteBuffer payload = map.slice(offset + RECORD_HEADER, length);
+            if (checksum(kind, version, payload.duplicate()) != checksum) {
+                slot++; // Недописанная или поврежденная серия — слоты свободны
+                continue;
+            }
+            sequence = Math.max(sequence, version);
+            if (kind == KIND_HISTORY) {
+                Run run = new Run(HISTORY_ID, slot, count, version, null, 0);
+                if (historyRun == null || historyRun.version < version) {
+                    if (historyRun != null) {
+                        stale.add(historyRun);
+                    }
+                    historyRun = run;
+                    historyIds = decodeHistory(payload);
+                } else {
+                    stale.add(run);
+                }
+            } else {
+                BaseTask task = BinaryTaskFormat.readTask(payload);
+                Run run = new Run(task.getId(), slot, count, version, TaskType.of(task), epicIdOf(task));
+                Run current = directory.get(task.getId());
+                if (current == null || current.version < version) {
+                    if (current != null) {
+                        stale.add(current);
+                    }
+                    directory.put(task.getId(), run);
+                    tasks.put(task.getId(), task);
+                } else {
+                    stale.add(run);
+                }
+            }
+            slot += count;
+        }
+
+        for (Run run : directory.values()) {
+            index(run);
+            usedSlots.set(run.first, run.first + run.count);
+        }
+        if (historyRun != null) {
+            usedSlots.set(historyRun.first, historyRun.first + historyRun.count);
+        }
+        // Устаревшие версии остаются после сбоя между записью новой версии и обнулением старой
+        List<Write> clears = new ArrayList<>(stale.size());
+        for (Run run : stale) {
+            clears.add(new Write(run.first, ByteBuffer.allocate(run.count * SLOT_SIZE)));
+        }
+        if (!clears.isEmpty()) {
+            write(clears);
+            channel.force(false);
+        }
+        loaded = new SnapshotData(new ArrayList<>(tasks.values()), historyIds);
+    }
+
+    private Run register(BaseTask task, List<Write> writes) {
+        Run previous = directory.get(task.getId());
+        if (previous != null) {
+            unindex(previous);
+        }
+        Run run = allocate(task.getId(), KIND_TASK, BinaryTaskFormat.encodeTask(task), writes);
+        run.type = TaskType.of(task);
+        run.epicId = epicIdOf(task);
+        directory.put(task.getId(), run);
+        index(run);
+        return previous;
+    }
+
+    private Run unregister(int id) {
+        Run previous = directory.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+        return previous;
+    }
+
+    private Run allocate(int id, byte kind, byte[] payload, List<Write> writes) {
+        int count = (RECORD_HEADER + payload.length + SLOT_SIZE - 1) / SLOT_SIZE;
+        int first = findFreeRun(count);
+        usedSlots.set(first, first + count);
+        long version = ++sequence;
+        ByteBuffer buffer = ByteBuffer.allocate(count * SLOT_SIZE);
+        buffer.put(kind).putInt(count).putLong(version).putInt(payload.length)
+                .putInt(checksum(kind, version, ByteBuffer.wrap(payload))).put(payload);
+        writes.add(new Write(first, buffer.clear()));
+        return new Run(id, first, count, version, null, 0);
+    }
+
+    // Первая подходящая серия свободных слотов начиная с подсказки; если ее нет — файл растет страницами
+    private int findFreeRun(int count) {
+        int start = usedSlots.nextClearBit(allocationHint);
+        while (start + count <= slotCount) {
+            int used = usedSlots.nextSetBit(start);
+            if (used == -1 || used >= start + count) {
+                allocationHint = start + count;
+                return start;
+            }
+            start = usedSlots.nextClearBit(used);
+        }
+        int first = Math.max(slotCount, usedSlots.length());
+        slotCount = (first + count + SLOTS_PER_PAGE - 1) / SLOTS_PER_PAGE * SLOTS_PER_PAGE;
+        allocationHint = first + count;
+        return first;
+    }
+
+    private long write(List<Write> writes) throws IOException {
+        writes.sort(Comparator.comparingInt(write -> write.slot));
+        long bytes = 0;
+        for (Write write : writes) {
+            long position = PAGE_SIZE + (long) write.slot * SLOT_SIZE;
+            while (write.data.hasRemaining()) {
+                bytes += channel.write(write.data, position + write.data.position());
+            }
+        }
+        return bytes;
+    }
+
+    private static int countPages(List<Write> writes, List<Write> clears) {
+        BitSet pages = new BitSet();
+        for (List<Write> list : List.of(writes, clears)) {
+            for (Write write : list) {
+                int slots = write.data.capacity() / SLOT_SIZE;
+                pages.set(write.slot / SLOTS_PER_PAGE, (write.slot + slots - 1) / SLOTS_PER_PAGE + 1);
+            }
+        }
+        return pages.cardinality();
+    }
+
+    private void index(Run run) {
+        idsByType.get(run.type).add(run.id);
+        if (run.type == TaskType.SUBTASK) {
+            IntSet subtaskIds = subtasksByEpic.get(run.epicId);
+            if (subtaskIds == null) {
+                subtaskIds = new IntSet();
+                subtasksByEpic.put(run.epicId, subtaskIds);
+            }
+            subtaskIds.add(run.id);
+        }
+    }
+
+    private void unindex(Run run) {
+        idsByType.get(run.type).remove(run.id);
+        if (run.type == TaskType.SUBTASK) {
+            IntSet subtaskIds = subtasksByEpic.get(run.epicId);
+            if (subtaskIds != null) {
+                subtaskIds.remove(run.id);
+                if (subtaskIds.isEmpty()) {
+                    subtasksByEpic.remove(run.epicId);
+                }
+            }
+        }
+    }
+
+    private static int epicIdOf(BaseTask task) {
+        return task instanceof Subtask subtask ? subtask.getEpicId() : 0;
+    }
+
+    private static byte[] encodeHistory(List<Integer> historyIds) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(historyIds.size() * 2 + 4);
+        try {
+            BinaryTaskFormat.writeVarLong(out, historyIds.size());
+            for (int id : historyIds) {
+                BinaryTaskFormat.writeVarLong(out, id);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Integer> decodeHistory(ByteBuffer payload) {
+        int count = (int) BinaryTaskFormat.readVarLong(payload);
+        List<Integer> historyIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            historyIds.add((int) BinaryTaskFormat.readVarLong(payload));
+        }
+        return historyIds;
+    }
+
+    private static int checksum(byte kind, long version, ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(kind);
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(version).flip());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // Серия слотов, занятая одной версией записи
+    private static final class Run {
+        final int id;
+        final int first;
+        final int count;
+        final long version;
+        TaskType type;
+        int epicId;
+
+        Run(int id, int first, int count, long version, TaskType type, int epicId) {
+            this.id = id;
+            this.first = first;
+            this.count = count;
+            this.version = version;
+            this.type = type;
+            this.epicId = epicId;
+        }
+    }
+
+    private static final class Write {
+        final int slot;
+        final ByteBuffer data;
+
+        Write(int slot, ByteBuffer data) {
+            this.slot = slot;
+            this.data = data;
+        }
+    }
+}
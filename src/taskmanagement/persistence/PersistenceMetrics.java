@@ -0,0 +1,154 @@
+package taskmanagement.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Счетчики фоновой записи; обновляются потоком хранения, читаются без блокировок
+public class PersistenceMetrics {
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private final AtomicLong checkpointBytesTotal = new AtomicLong();
+    private volatile long lastCheckpointMillis;
+    private volatile long lastCheckpointBytes;
+    // Очередь записи: групповые фиксации, их задержка и глубина очереди после фиксации
+    private final AtomicLong commitCount = new AtomicLong();
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong committedRecords = new AtomicLong();
+    private final AtomicLong commitNanosTotal = new AtomicLong();
+    private volatile long lastCommitNanos;
+    private volatile long maxCommitNanos;
+    private volatile int queueDepth;
+    private volatile int maxQueueDepth;
+    private final AtomicLong backpressureCount = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+    // Страничный файл: число записей изменений и объем каждой из них в страницах и байтах
+    private final AtomicLong pagedWrites = new AtomicLong();
+    private final AtomicLong pagesWritten = new AtomicLong();
+    private final AtomicLong pagedBytesWritten = new AtomicLong();
+    private volatile long lastPagedBytes;
+
+    public void recordCheckpoint(long millis, long bytes) {
+        lastCheckpointMillis = millis;
+        lastCheckpointBytes = bytes;
+        checkpointBytesTotal.addAndGet(bytes);
+        checkpointCount.incrementAndGet();
+    }
+
+    // Вызывается только потоком-писателем, поэтому максимумы обновляются без гонок
+    public void recordCommit(int batches, int records, long nanos, int depth) {
+        commitCount.incrementAndGet();
+        committedBatches.addAndGet(batches);
+        committedRecords.addAndGet(records);
+        commitNanosTotal.addAndGet(nanos);
+        lastCommitNanos = nanos;
+        maxCommitNanos = Math.max(maxCommitNanos, nanos);
+        queueDepth = depth;
+        maxQueueDepth = Math.max(maxQueueDepth, depth + batches);
+    }
+
+    public void recordBackpressure() {
+        backpressureCount.incrementAndGet();
+    }
+
+    public void recordWriteFailure() {
+        writeFailures.incrementAndGet();
+    }
+
+    public void recordPagedWrite(int pages, long bytes) {
+        pagedWrites.incrementAndGet();
+        pagesWritten.addAndGet(pages);
+        pagedBytesWritten.addAndGet(bytes);
+        lastPagedBytes = bytes;
+    }
+
+    public long getCheckpointCount() {
+        return checkpointCount.get();
+    }
+
+    public long getCheckpointBytesTotal() {
+        return checkpointBytesTotal.get();
+    }
+
+    public long getLastCheckpointMillis() {
+        return lastCheckpointMillis;
+    }
+
+    public long getLastCheckpointBytes() {
+        return lastCheckpointBytes;
+    }
+
+    public long getCommitCount() {
+        return commitCount.get();
+    }
+
+    public long getCommittedBatches() {
+        return committedBatches.get();
+    }
+
+    public long getCommittedRecords() {
+        return committedRecords.get();
+    }
+
+    public long getAverageCommitMicros() {
+        long commits = commitCount.get();
+        return commits == 0 ? 0 : commitNanosTotal.get() / commits / 1000;
+    }
+
+    public long getLastCommitMicros() {
+        return lastCommitNanos / 1000;
+    }
+
+    public long getMaxCommitMicros() {
+        return maxCommitNanos / 1000;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getBackpressureCount() {
+        return backpressureCount.get();
+    }
+
+    public long getWriteFailures() {
+        return writeFailures.get();
+    }
+
+    public long getPagedWrites() {
+        return pagedWrites.get();
+    }
+
+    public long getPagesWritten() {
+        return pagesWritten.get();
+    }
+
+    public long getPagedBytesWritten() {
+        return pagedBytesWritten.get();
+    }
+
+    public long getLastPagedBytes() {
+        return lastPagedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistenceMetrics{checkpoints=" + getCheckpointCount()
+                + ", lastCheckpointMillis=" + lastCheckpointMillis
+                + ", lastCheckpointBytes=" + lastCheckpointBytes
+                + ", checkpointBytesTotal=" + getCheckpointBytesTotal()
+                + ", commits=" + getCommitCount()
+                + ", committedBatches=" + getCommittedBatches()
+                + ", committedRecords=" + getCommittedRecords()
+                + ", avgCommitMicros=" + getAverageCommitMicros()
+                + ", maxCommitMicros=" + getMaxCommitMicros()
+                + ", queueDepth=" + queueDepth
+                + ", maxQueueDepth=" + maxQueueDepth
+                + ", backpressure=" + getBackpressureCount()
+                + ", writeFailures=" + getWriteFailures()
+                + ", pagedWrites=" + getPagedWrites()
+                + ", pagesWritten=" + getPagesWritten()
+                + ", pagedBytesWritten=" + getPagedBytesWritten() + '}';
+    }
+}
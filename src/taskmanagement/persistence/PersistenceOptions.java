@@ -0,0 +1,151 @@
+package taskmanagement.persistence;
+
+// Настройки хранения FileBackedTaskManager. По умолчанию — прежний режим: полная перезапись файла
+// после каждого изменения. Экземпляры неизменяемы, with-методы возвращают измененную копию.
+public final class PersistenceOptions {
+    private boolean journaled;
+    // Страничный файл: изменение перезаписывает только слоты затронутых задач (PagedTaskFile)
+    private boolean paged;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.OS;
+    private long fsyncIntervalMillis = 1000;
+    // Просмотры задач копятся в памяти и записываются фоном: при сбое теряется не больше
+    // historyFlushThreshold последних просмотров и не больше historyFlushIntervalMillis по времени
+    private long historyFlushIntervalMillis = 1000;
+    private int historyFlushThreshold = 1000;
+    // Контрольная точка в режиме журнала: по размеру журнала и/или по времени, 0 отключает условие
+    private long checkpointLogBytes = 64L * 1024 * 1024;
+    private long checkpointIntervalMillis;
+    // Формат, в котором пишутся снимки; читается снимок любого формата
+    private SnapshotFormat snapshotFormat = SnapshotFormat.CSV;
+    // Очередь записи: 0 — запись в потоке операции, иначе емкость очереди фонового писателя
+    private int writeQueueCapacity;
+    private Durability durability = Durability.SYNC;
+
+    private PersistenceOptions() {
+    }
+
+    private PersistenceOptions(PersistenceOptions other) {
+        this.journaled = other.journaled;
+        this.paged = other.paged;
+        this.fsyncPolicy = other.fsyncPolicy;
+        this.fsyncIntervalMillis = other.fsyncIntervalMillis;
+        this.historyFlushIntervalMillis = other.historyFlushIntervalMillis;
+        this.historyFlushThreshold = other.historyFlushThreshold;
+        this.checkpointLogBytes = other.checkpointLogBytes;
+        this.checkpointIntervalMillis = other.checkpointIntervalMillis;
+        this.snapshotFormat = other.snapshotFormat;
+        this.writeQueueCapacity = other.writeQueueCapacity;
+        this.durability = other.durability;
+    }
+
+    public static PersistenceOptions snapshot() {
+        return new PersistenceOptions();
+    }
+
+    public static PersistenceOptions journal(FsyncPolicy fsyncPolicy) {
+        PersistenceOptions options = new PersistenceOptions();
+        options.journaled = true;
+        options.fsyncPolicy = fsyncPolicy;
+        return options;
+    }
+
+    // Сброс на диск: ALWAYS — после каждого изменения, иначе — системой и при закрытии
+    public static PersistenceOptions paged(FsyncPolicy fsyncPolicy) {
+        PersistenceOptions options = new PersistenceOptions();
+        options.paged = true;
+        options.fsyncPolicy = fsyncPolicy;
+        return options;
+    }
+
+    public PersistenceOptions withFsyncInterval(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Ошибка: интервал сброса журнала должен быть положительным");
+        }
+        PersistenceOptions options = new PersistenceOptions(this);
+        options.fsyncIntervalMillis = millis;
+        return options;
+    }
+
+    public PersistenceOptions withHistoryFlush(long intervalMillis, int threshold) {
+        if (intervalMillis <= 0 || threshold <= 0) {
+            throw new IllegalArgumentException("Ошибка: параметры записи истории должны быть положительными");
+        }
+        PersistenceOptions options = new PersistenceOptions(this);
+        options.historyFlushIntervalMillis = intervalMillis;
+        options.historyFlushThreshold = threshold;
+        return options;
+    }
+
+    public PersistenceOptions withCheckpoint(long logBytes, long intervalMillis) {
+        if (logBytes < 0 || intervalMillis < 0) {
+            throw new IllegalArgumentException("Ошибка: параметры контрольной точки не могут быть отрицательными");
+        }
+        PersistenceOptions options = new PersistenceOptions(this);
+        options.checkpointLogBytes = logBytes;
+        options.checkpointIntervalMillis = intervalMillis;
+        return options;
+    }
+
+    public PersistenceOptions withSnapshotFormat(SnapshotFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Ошибка: не задан формат снимка");
+        }
+        PersistenceOptions options = new PersistenceOptions(this);
+        options.snapshotFormat = format;
+        return options;
+    }
+
+    public PersistenceOptions withWriteQueue(int capacity, Durability durability) {
+        if (capacity <= 0 || durability == null) {
+            throw new IllegalArgumentException("Ошибка: емкость очереди записи должна быть положительной");
+        }
+        PersistenceOptions options = new PersistenceOptions(this);
+        options.writeQueueCapacity = capacity;
+        options.durability = durability;
+        return options;
+    }
+
+    public boolean isJournaled() {
+        return journaled;
+    }
+
+    public boolean isPaged() {
+        return paged;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public long getFsyncIntervalMillis() {
+        return fsyncIntervalMillis;
+    }
+
+    public long getHistoryFlushIntervalMillis() {
+        return historyFlushIntervalMillis;
+    }
+
+    public int getHistoryFlushThreshold() {
+        return historyFlushThreshold;
+    }
+
+    public long getCheckpointLogBytes() {
+        return checkpointLogBytes;
+    }
+
+    public long getCheckpointIntervalMillis() {
+        return checkpointIntervalMillis;
+    }
+
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
+
+    public int getWriteQueueCapacity() {
+        return writeQueueCapacity;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+}
@@ -0,0 +1,39 @@
+package taskmanagement.persistence;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+// Общие планировщики фоновых задач хранения. Потоки демонические, поэтому не мешают завершению JVM.
+// Сброс журнала по интервалу идет в отдельном потоке: долгая контрольная точка (запись и сброс
+// целого снимка) не должна отодвигать его и нарушать обещанный интервал fsync.
+public final class PersistenceThreads {
+    private PersistenceThreads() {
+    }
+
+    // Контрольные точки и запись истории
+    public static ScheduledExecutorService scheduler() {
+        return Background.INSTANCE;
+    }
+
+    // Только короткие сбросы журнала на диск
+    public static ScheduledExecutorService fsyncScheduler() {
+        return Fsync.INSTANCE;
+    }
+
+    private static ScheduledExecutorService newScheduler(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Классы-держатели: поток создается при первом обращении
+    private static final class Background {
+        static final ScheduledExecutorService INSTANCE = newScheduler("task-persistence");
+    }
+
+    private static final class Fsync {
+        static final ScheduledExecutorService INSTANCE = newScheduler("task-persistence-fsync");
+    }
+}
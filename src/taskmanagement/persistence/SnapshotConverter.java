@@ -0,0 +1,29 @@
+package taskmanagement.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Перевод снимка между форматами: java taskmanagement.persistence.SnapshotConverter <из> <в> <CSV|BINARY>
+public final class SnapshotConverter {
+    private SnapshotConverter() {
+    }
+
+    public static void convert(Path source, Path target, SnapshotFormat format) throws IOException {
+        SnapshotData data = SnapshotFormat.detect(source).read(source);
+        format.writeAtomically(target, data.getTasks(), data.getHistoryIds());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Использование: SnapshotConverter <исходный файл> <новый файл> <CSV|BINARY>");
+            return;
+        }
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        SnapshotFormat format = SnapshotFormat.valueOf(args[2].toUpperCase());
+        convert(source, target, format);
+        System.out.println("Снимок " + source + " (" + SnapshotFormat.detect(source) + ") записан в "
+                + target + " (" + format + "): " + Files.size(source) + " -> " + Files.size(target) + " байт");
+    }
+}
@@ -0,0 +1,24 @@
+package taskmanagement.persistence;
+
+import taskmanagement.task.BaseTask;
+
+import java.util.List;
+
+// Содержимое снимка: задачи в порядке записи (эпики раньше своих подзадач) и ID истории
+public final class SnapshotData {
+    private final List<BaseTask> tasks;
+    private final List<Integer> historyIds;
+
+    public SnapshotData(List<BaseTask> tasks, List<Integer> historyIds) {
+        this.tasks = tasks;
+        this.historyIds = historyIds;
+    }
+
+    public List<BaseTask> getTasks() {
+        return tasks;
+    }
+
+    public List<Integer> getHistoryIds() {
+        return historyIds;
+    }
+}
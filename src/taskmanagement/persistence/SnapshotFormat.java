@@ -0,0 +1,92 @@
+package taskmanagement.persistence;
+
+import taskmanagement.task.BaseTask;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Формат файла снимка. При чтении формат определяется по заголовку файла, а не по настройкам,
+// поэтому менеджер загружает снимок любого формата и пишет следующий в выбранном.
+public enum SnapshotFormat {
+    CSV {
+        @Override
+        public void write(OutputStream out, List<? extends BaseTask> tasks, List<Integer> historyIds) throws IOException {
+            CsvTaskFormat.writeSnapshot(out, tasks, historyIds);
+            out.flush();
+        }
+
+        @Override
+        SnapshotData decode(ByteBuffer in) {
+            return CsvTaskFormat.readSnapshot(in);
+        }
+    },
+    BINARY {
+        @Override
+        public void write(OutputStream out, List<? extends BaseTask> tasks, List<Integer> historyIds) throws IOException {
+            BinaryTaskFormat.writeSnapshot(out, tasks, historyIds);
+            out.flush();
+        }
+
+        @Override
+        SnapshotData decode(ByteBuffer in) {
+            return BinaryTaskFormat.readSnapshot(in);
+        }
+    };
+
+    public abstract void write(OutputStream out, List<? extends BaseTask> tasks, List<Integer> historyIds) throws IOException;
+
+    abstract SnapshotData decode(ByteBuffer in);
+
+    // Файл отображается в память и разбирается прямо из отображения, без копирования в кучу и построчного чтения.
+    // Поврежденный или обрезанный снимок не загружается даже частично
+    public SnapshotData read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (RuntimeException e) {
+            throw new CorruptSnapshotException(path, e);
+        }
+    }
+
+    // Снимок пишется во временный файл, сбрасывается на диск и атомарно заменяет прежний:
+    // при сбое на диске остается либо старый снимок целиком, либо новый. Возвращает размер файла
+    public long writeAtomically(Path target, List<? extends BaseTask> tasks, List<Integer> historyIds) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+            write(out, tasks, historyIds);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(target.toAbsolutePath().getParent());
+        return Files.size(target);
+    }
+
+    public static SnapshotFormat detect(Path path) throws IOException {
+        byte[] header = new byte[BinaryTaskFormat.HEADER_LENGTH];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read = in.readNBytes(header, 0, header.length);
+            return BinaryTaskFormat.hasMagic(ByteBuffer.wrap(header, 0, read)) ? BINARY : CSV;
+        }
+    }
+
+    // Переименование становится надежным после сброса каталога; не все системы позволяют открыть каталог
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Каталог нельзя сбросить (например, в Windows) — остается гарантия атомарности замены
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package taskmanagement.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+// Ограниченная очередь записи с отдельным потоком-писателем. Писатель забирает все накопившиеся
+// пакеты и записывает их одной операцией (групповая фиксация). Если очередь заполнена, submit
+// блокирует вызывающего, пока писатель не освободит место, — память не растет без ограничений.
+// Первая ошибка записи останавливает очередь: дописывать журнал после пропущенного пакета нельзя,
+// поэтому все следующие пакеты отклоняются с той же ошибкой.
+public class WriteQueue implements Closeable {
+    private static final int MAX_BATCH = 1024;
+
+    // Запись накопленных изменений: журнал дописывает записи, снимок перезаписывается целиком
+    public interface BatchWriter {
+        void write(List<JournalRecord> records) throws IOException;
+    }
+
+    private final BlockingQueue<Entry> queue;
+    private final BatchWriter sink;
+    private final PersistenceMetrics metrics;
+    private final Thread writer;
+    private volatile boolean closed;
+    // Первая ошибка записи; после нее писатель больше ничего не пишет
+    private volatile IOException failure;
+
+    public WriteQueue(String name, int capacity, BatchWriter sink, PersistenceMetrics metrics) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.metrics = metrics;
+        this.writer = new Thread(this::run, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public CompletableFuture<Void> submit(List<JournalRecord> records) throws IOException, InterruptedException {
+        return enqueue(new Entry(records, false));
+    }
+
+    // Ждет, пока будет записано все, что поставлено в очередь до вызова
+    public void flush() throws IOException, InterruptedException {
+        await(enqueue(new Entry(List.of(), true)));
+    }
+
+    public IOException getFailure() {
+        return failure;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    // Писатель обрабатывает STOP после всех ранее поставленных пакетов, поэтому отдельный flush не нужен
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(Entry.STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Прервано ожидание очереди записи", e);
+        }
+        if (failure != null) {
+            throw new IOException("Фоновая запись остановлена после ошибки", failure);
+        }
+    }
+
+    public static void await(CompletableFuture<Void> done) throws IOException, InterruptedException {
+        try {
+            done.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Ошибка записи", e.getCause());
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Entry entry) throws IOException, InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Очередь записи закрыта");
+        }
+        if (failure != null) {
+            throw new IOException("Фоновая запись остановлена после ошибки", failure);
+        }
+        if (!queue.offer(entry)) {
+            metrics.recordBackpressure();
+            queue.put(entry);
+        }
+        return entry.done;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        List<JournalRecord> records = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = false;
+            boolean barriersOnly = true;
+            for (Entry entry : batch) {
+                stop |= entry == Entry.STOP;
+                barriersOnly &= entry.barrier;
+                records.addAll(entry.records);
+            }
+            if (failure != null) {
+                // Пакеты, успевшие попасть в очередь до остановки, отклоняются без записи
+                batch.forEach(entry -> entry.done.completeExceptionally(failure));
+            } else {
+                long started = System.nanoTime();
+                try {
+                    if (!barriersOnly) {
+                        sink.write(records);
+                        metrics.recordCommit(batch.size(), records.size(), System.nanoTime() - started, queue.size());
+                    }
+                    batch.forEach(entry -> entry.done.complete(null));
+                } catch (IOException e) {
+                    fail(batch, e);
+                } catch (RuntimeException e) {
+                    fail(batch, new IOException("Ошибка записи", e));
+                }
+            }
+            batch.clear();
+            records.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void fail(List<Entry> batch, IOException e) {
+        failure = e;
+        metrics.recordWriteFailure();
+        batch.forEach(entry -> entry.done.completeExceptionally(e));
+    }
+
+    private static final class Entry {
+        static final Entry STOP = new Entry(List.of(), true);
+
+        final List<JournalRecord> records;
+        final boolean barrier;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Entry(List<JournalRecord> records, boolean barrier) {
+            this.records = records;
+            this.barrier = barrier;
+        }
+    }
+}
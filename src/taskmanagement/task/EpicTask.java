@@ -1,57 +1,115 @@
 package taskmanagement.task;
 
-import taskmanagement.manager.Managers;
+import taskmanagement.status.TaskStatus;
+import taskmanagement.util.IntObjectMap;
+import taskmanagement.util.IntSet;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class EpicTask extends BaseTask {
-    private final List<Integer> subtaskIds = new ArrayList<>();
+    private IntSet subtaskIds = new IntSet();
     private LocalDateTime endTime;
+    // Статусы, с которыми подзадачи учтены в счётчиках, — чтобы пересчёт не зависел от изменений объектов подзадач
+    private transient IntObjectMap<TaskStatus> countedStatuses;
+    private transient int newCount;
+    private transient int inProgressCount;
+    private transient int doneCount;
 
     public EpicTask(String title, String description) {
         super(title, description);
     }
 
     public List<Integer> getSubtaskIds() {
-        return new ArrayList<>(subtaskIds);
+        int[] ids = subtaskIds().toSortedArray();
+        List<Integer> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    public int getSubtaskCount() {
+        return subtaskIds().size();
     }
 
-    public void addSubtask(int subtaskId) {
+    public void addSubtask(int subtaskId, TaskStatus status) {
         if (subtaskId == this.id) {
             throw new IllegalArgumentException("Эпик не может быть добавлен в виде подзадачи к самому себе");
         }
-        subtaskIds.add(subtaskId);
-        recalculateDurationAndTime();
+        TaskStatus previous = countedStatuses().put(subtaskId, status);
+        if (previous == null) {
+            subtaskIds().add(subtaskId);
+        } else {
+            changeCount(previous, -1);
+        }
+        changeCount(status, 1);
+        updateStatus();
     }
 
     public void removeSubtask(int subtaskId) {
-        subtaskIds.remove(Integer.valueOf(subtaskId));
-        recalculateDurationAndTime();
+        TaskStatus previous = countedStatuses().remove(subtaskId);
+        if (previous == null) {
+            return;
+        }
+        subtaskIds().remove(subtaskId);
+        changeCount(previous, -1);
+        updateStatus();
     }
 
-    private void recalculateDurationAndTime() {
-        this.duration = subtaskIds.stream()
-                .map(subtaskId -> (Subtask) Managers.getDefault().getTaskById(subtaskId))
-                .filter(subtask -> subtask != null && subtask.getStartTime() != null)
-                .map(Subtask::getDuration)
-                .reduce(Duration.ZERO, Duration::plus);
-
-        this.startTime = subtaskIds.stream()
-                .map(subtaskId -> (Subtask) Managers.getDefault().getTaskById(subtaskId))
-                .filter(subtask -> subtask != null && subtask.getStartTime() != null)
-                .map(Subtask::getStartTime)
-                .min(LocalDateTime::compareTo)
-                .orElse(null);
-
-        this.endTime = subtaskIds.stream()
-                .map(subtaskId -> (Subtask) Managers.getDefault().getTaskById(subtaskId))
-                .filter(subtask -> subtask != null && subtask.getStartTime() != null)
-                .map(Subtask::getEndTime)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
+    public void clearSubtasks() {
+        subtaskIds().clear();
+        countedStatuses().clear();
+        newCount = 0;
+        inProgressCount = 0;
+        doneCount = 0;
+        updateStatus();
+    }
+
+    // Эпик, пришедший на обновление, получает связи и счётчики от сохранённой версии.
+    // Связи копируются: прежняя версия остаётся в старых снимках и не должна меняться вместе с новой
+    public void inheritSubtasks(EpicTask previous) {
+        subtaskIds = new IntSet(previous.subtaskIds());
+        countedStatuses = new IntObjectMap<>(previous.countedStatuses());
+        newCount = previous.newCount;
+        inProgressCount = previous.inProgressCount;
+        doneCount = previous.doneCount;
+        updateStatus();
+    }
+
+    // Gson создаёт объекты без вызова конструктора, поэтому поля могут быть не инициализированы
+    private IntSet subtaskIds() {
+        if (subtaskIds == null) {
+            subtaskIds = new IntSet();
+        }
+        return subtaskIds;
+    }
+
+    private IntObjectMap<TaskStatus> countedStatuses() {
+        if (countedStatuses == null) {
+            countedStatuses = new IntObjectMap<>();
+        }
+        return countedStatuses;
+    }
+
+    private void changeCount(TaskStatus status, int delta) {
+        switch (status) {
+            case NEW -> newCount += delta;
+            case IN_PROGRESS -> inProgressCount += delta;
+            case DONE -> doneCount += delta;
+        }
+    }
+
+    private void updateStatus() {
+        int total = newCount + inProgressCount + doneCount;
+        if (total == newCount) {
+            this.status = TaskStatus.NEW;
+        } else if (total == doneCount) {
+            this.status = TaskStatus.DONE;
+        } else {
+            this.status = TaskStatus.IN_PROGRESS;
+        }
     }
 
     @Override
@@ -59,6 +117,10 @@ public class EpicTask extends BaseTask {
         return endTime;
     }
 
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
     @Override
     public String toString() {
         return String.join(",",
@@ -1,7 +1,7 @@
 package taskmanagement.task;
 
 public class Subtask extends BaseTask {
-    private final int epicId;
+    private int epicId;
 
     public Subtask(String title, String description, int epicId) {
         super(title, description);
@@ -20,6 +20,12 @@ public class Subtask extends BaseTask {
         return epicId;
     }
 
+    // Для пакетного добавления: ссылка на временный ID эпика из того же пакета заменяется выданным ID.
+    // Вызывается до setId, который и проверяет, что подзадача не ссылается на себя
+    public void setEpicId(int epicId) {
+        this.epicId = epicId;
+    }
+
     @Override
     public String toString() {
         return String.join(",",
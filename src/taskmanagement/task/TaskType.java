@@ -0,0 +1,14 @@
+package taskmanagement.task;
+
+public enum TaskType {
+    TASK,
+    SUBTASK,
+    EPIC;
+
+    public static TaskType of(BaseTask task) {
+        if (task instanceof EpicTask) {
+            return EPIC;
+        }
+        return task instanceof Subtask ? SUBTASK : TASK;
+    }
+}
@@ -0,0 +1,162 @@
+package taskmanagement.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Множество int с открытой адресацией: свободная ячейка помечается значением EMPTY,
+// а сам EMPTY хранится отдельным флагом
+public class IntSet {
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int size;
+    private int mask;
+    private int shift;
+    private boolean containsEmpty;
+
+    public IntSet() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    // Копия таблицы целиком, без повторного хеширования
+    public IntSet(IntSet other) {
+        keys = other.keys.clone();
+        size = other.size;
+        mask = other.mask;
+        shift = other.shift;
+        containsEmpty = other.containsEmpty;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    public boolean add(int key) {
+        if (key == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int index = indexOf(key);
+        if (keys[index] == key) {
+            return false;
+        }
+        keys[index] = key;
+        size++;
+        if (size > (int) (keys.length * LOAD_FACTOR)) {
+            resize(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean remove(int key) {
+        if (key == EMPTY) {
+            if (!containsEmpty) {
+                return false;
+            }
+            containsEmpty = false;
+            size--;
+            return true;
+        }
+        int index = indexOf(key);
+        if (keys[index] != key) {
+            return false;
+        }
+        deleteAt(index);
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        containsEmpty = false;
+        size = 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (containsEmpty) {
+            action.accept(EMPTY);
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    // Элементы по возрастанию: ID выдаются последовательно, поэтому это порядок создания
+    public int[] toSortedArray() {
+        int[] result = new int[size];
+        int count = 0;
+        if (containsEmpty) {
+            result[count++] = EMPTY;
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[count++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int indexOf(int key) {
+        int index = hash(key);
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private int hash(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    private void deleteAt(int index) {
+        keys[index] = EMPTY;
+        size--;
+        int gap = index;
+        int current = (index + 1) & mask;
+        while (keys[current] != EMPTY) {
+            int home = hash(keys[current]);
+            if (((current - home) & mask) >= ((current - gap) & mask)) {
+                keys[gap] = keys[current];
+                keys[current] = EMPTY;
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        for (int key : oldKeys) {
+            if (key != EMPTY) {
+                keys[indexOf(key)] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+}
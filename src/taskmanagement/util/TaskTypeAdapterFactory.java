@@ -0,0 +1,155 @@
+package taskmanagement.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+import taskmanagement.task.TaskType;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Потоковая (де)сериализация задач без рефлексии. Поля и их формат — как у рефлективного пути
+// (время — строка "HH:mm dd.MM.yy" или "null", длительность — минуты), плюс дискриминатор "type".
+// При чтении конкретного класса "type" необязателен, при чтении BaseTask — выбирает класс.
+// subtaskIds эпика только пишутся: связи эпика менеджер строит сам и входные значения не использует.
+public class TaskTypeAdapterFactory implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!BaseTask.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+        return (TypeAdapter<T>) new TaskAdapter(type.getRawType());
+    }
+
+    private static final class TaskAdapter extends TypeAdapter<BaseTask> {
+        private final Class<?> expected;
+
+        TaskAdapter(Class<?> expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public void write(JsonWriter out, BaseTask task) throws IOException {
+            if (task == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("type").value(TaskType.of(task).name());
+            // value(long), а не value(Number): без лишнего toString и проверок нечисловых значений
+            out.name("id");
+            if (task.getId() == null) {
+                out.nullValue();
+            } else {
+                out.value(task.getId().longValue());
+            }
+            out.name("title").value(task.getTitle());
+            out.name("description").value(task.getDescription());
+            out.name("status").value(task.getStatus() == null ? null : task.getStatus().name());
+            out.name("duration");
+            if (task.getDuration() == null) {
+                out.nullValue();
+            } else {
+                out.value(task.getDuration().toMinutes());
+            }
+            out.name("startTime").value(TimeUtils.timeToString(task.getStartTime()));
+            if (task instanceof Subtask subtask) {
+                out.name("epicId").value(subtask.getEpicId());
+            } else if (task instanceof EpicTask epic) {
+                out.name("subtaskIds").beginArray();
+                for (int id : epic.getSubtaskIds()) {
+                    out.value(id);
+                }
+                out.endArray();
+                out.name("endTime").value(TimeUtils.timeToString(epic.getEndTime()));
+            }
+            out.endObject();
+        }
+
+        @Override
+        public BaseTask read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            TaskType type = null;
+            Integer id = null;
+            String title = null;
+            String description = null;
+            TaskStatus status = null;
+            Duration duration = null;
+            LocalDateTime startTime = null;
+            LocalDateTime endTime = null;
+            int epicId = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "type" -> type = TaskType.valueOf(in.nextString());
+                    case "id" -> id = in.nextInt();
+                    case "title" -> title = in.nextString();
+                    case "description" -> description = in.nextString();
+                    case "status" -> status = TaskStatus.valueOf(in.nextString());
+                    case "duration" -> duration = Duration.ofMinutes(in.nextLong());
+                    case "startTime" -> startTime = TimeUtils.stringToTime(in.nextString());
+                    case "endTime" -> endTime = TimeUtils.stringToTime(in.nextString());
+                    case "epicId" -> epicId = in.nextInt();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            BaseTask task = switch (resolveType(type)) {
+                case TASK -> new SimpleTask(title, description);
+                case SUBTASK -> new Subtask(title, description, epicId);
+                case EPIC -> {
+                    EpicTask epic = new EpicTask(title, description);
+                    epic.setEndTime(endTime);
+                    yield epic;
+                }
+            };
+            if (id != null) {
+                task.setId(id);
+            }
+            // Отсутствующие статус и длительность остаются значениями конструктора: NEW и ноль
+            if (status != null) {
+                task.setStatus(status);
+            }
+            if (duration != null) {
+                task.setDuration(duration);
+            }
+            task.setStartTime(startTime);
+            return task;
+        }
+
+        private TaskType resolveType(TaskType type) {
+            TaskType byClass = expected == SimpleTask.class ? TaskType.TASK
+                    : expected == Subtask.class ? TaskType.SUBTASK
+                    : expected == EpicTask.class ? TaskType.EPIC
+                    : null;
+            if (byClass == null && type == null) {
+                throw new JsonParseException("Не указан тип задачи (поле type)");
+            }
+            if (byClass != null && type != null && byClass != type) {
+                throw new JsonParseException("Тип задачи " + type + " не совпадает с ожидаемым " + byClass);
+            }
+            return byClass != null ? byClass : type;
+        }
+    }
+}
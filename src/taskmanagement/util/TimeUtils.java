@@ -1,19 +1,67 @@
 package taskmanagement.util;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+// Время "HH:mm dd.MM.yy" пишется и читается по фиксированным позициям, без DateTimeFormatter.
+// Год "yy" — как у DateTimeFormatter: последние две цифры при записи, 2000 + yy при чтении.
+// Все, что не подходит под шаблон, разбирает DATE_TIME_FORMATTER, чтобы ошибки оставались прежними.
 public class TimeUtils {
     public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm dd.MM.yy");
+    private static final int LENGTH = 14;
 
     public static String timeToString(LocalDateTime time) {
         if (time == null) {
             return "null";
         }
-        return time.format(DATE_TIME_FORMATTER);
+        char[] chars = new char[LENGTH];
+        putTwoDigits(chars, 0, time.getHour());
+        chars[2] = ':';
+        putTwoDigits(chars, 3, time.getMinute());
+        chars[5] = ' ';
+        putTwoDigits(chars, 6, time.getDayOfMonth());
+        chars[8] = '.';
+        putTwoDigits(chars, 9, time.getMonthValue());
+        chars[11] = '.';
+        putTwoDigits(chars, 12, Math.floorMod(time.getYear(), 100));
+        return new String(chars);
     }
 
     public static LocalDateTime stringToTime(String time) {
-        return "null".equals(time) ? null : LocalDateTime.parse(time, DATE_TIME_FORMATTER);
+        if ("null".equals(time)) {
+            return null;
+        }
+        if (time.length() == LENGTH && time.charAt(2) == ':' && time.charAt(5) == ' '
+                && time.charAt(8) == '.' && time.charAt(11) == '.') {
+            int hour = twoDigits(time, 0);
+            int minute = twoDigits(time, 3);
+            int day = twoDigits(time, 6);
+            int month = twoDigits(time, 9);
+            int year = twoDigits(time, 12);
+            if ((hour | minute | day | month | year) >= 0) {
+                try {
+                    return LocalDateTime.of(2000 + year, month, day, hour, minute);
+                } catch (DateTimeException e) {
+                    // Несуществующая дата: сообщение об ошибке формирует DATE_TIME_FORMATTER
+                }
+            }
+        }
+        return LocalDateTime.parse(time, DATE_TIME_FORMATTER);
+    }
+
+    private static void putTwoDigits(char[] chars, int at, int value) {
+        chars[at] = (char) ('0' + value / 10);
+        chars[at + 1] = (char) ('0' + value % 10);
+    }
+
+    // -1, если в позиции не две цифры
+    private static int twoDigits(String value, int at) {
+        int high = value.charAt(at) - '0';
+        int low = value.charAt(at + 1) - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
     }
 }
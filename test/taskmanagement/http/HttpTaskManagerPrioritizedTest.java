@@ -4,15 +4,19 @@ import com.google.gson.Gson;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import taskmanagement.http.handlers.PrioritizedHandler;
 import taskmanagement.manager.InMemoryTaskManager;
 import taskmanagement.manager.TaskManager;
 import taskmanagement.task.SimpleTask;
+import taskmanagement.util.TimeUtils;
 
 import java.io.IOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
@@ -59,4 +63,60 @@ public class HttpTaskManagerPrioritizedTest {
         // проверяем, что задача содержится в приоритетном списке
         assertTrue(response.body().contains("Test Task"), "Приоритетный список не содержит добавленную задачу");
     }
+
+    @Test
+    public void testGetPrioritizedTasksPage() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        for (int i = 0; i < 3; i++) {
+            manager.addTask(new SimpleTask("Task " + i, "Testing task", start.plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        String from = URLEncoder.encode(TimeUtils.timeToString(start), StandardCharsets.UTF_8);
+        URI url = URI.create("http://localhost:8080/prioritized?from=" + from + "&limit=2");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Task 1") && !response.body().contains("Task 2"),
+                "Первая страница должна содержать две самые ранние задачи");
+        String cursor = response.headers().firstValue(PrioritizedHandler.NEXT_CURSOR_HEADER).orElseThrow();
+
+        URI nextUrl = URI.create("http://localhost:8080/prioritized?limit=2&cursor="
+                + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+        HttpResponse<String> nextResponse = client.send(HttpRequest.newBuilder().uri(nextUrl).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, nextResponse.statusCode());
+        assertTrue(nextResponse.body().contains("Task 2") && !nextResponse.body().contains("Task 1"),
+                "Вторая страница должна начинаться после курсора");
+        assertTrue(nextResponse.headers().firstValue(PrioritizedHandler.NEXT_CURSOR_HEADER).isEmpty(),
+                "Неполная страница не должна возвращать курсор");
+    }
+
+    @Test
+    public void testGetPrioritizedTasksWithInvalidLimit() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/prioritized?limit=abc");
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder().uri(url).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    public void testGetFreeSlots() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        manager.addTask(new SimpleTask("Test Task", "Testing task", start, Duration.ofMinutes(60)));
+
+        HttpClient client = HttpClient.newHttpClient();
+        String from = URLEncoder.encode(TimeUtils.timeToString(start), StandardCharsets.UTF_8);
+        URI url = URI.create("http://localhost:8080/prioritized/free?duration=30&count=1&from=" + from);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder().uri(url).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains(TimeUtils.timeToString(start.plusMinutes(61))),
+                "Первый свободный промежуток должен начинаться после существующей задачи");
+    }
 }
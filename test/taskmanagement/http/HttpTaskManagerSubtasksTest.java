@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import taskmanagement.manager.InMemoryTaskManager;
 import taskmanagement.manager.TaskManager;
+import taskmanagement.status.TaskStatus;
 import taskmanagement.task.EpicTask;
 import taskmanagement.task.Subtask;
 
@@ -18,6 +19,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class HttpTaskManagerSubtasksTest {
 
@@ -65,4 +67,28 @@ public class HttpTaskManagerSubtasksTest {
         // проверяем, что подзадача была добавлена
         assertEquals(1, manager.getSubtasksByEpicId(epic.getId()).size(), "Некорректное количество подзадач");
     }
+
+    @Test
+    public void testGetSubtasksByStatus() throws IOException, InterruptedException {
+        EpicTask epic = new EpicTask("Test Epic", "Testing epic");
+        manager.addEpic(epic);
+        Subtask done = new Subtask("Done Subtask", "Testing subtask", epic.getId());
+        done.setStatus(TaskStatus.DONE);
+        manager.addSubtask(done);
+        manager.addSubtask(new Subtask("New Subtask", "Testing subtask", epic.getId()));
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/subtasks?status=DONE");
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder().uri(url).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Done Subtask") && !response.body().contains("New Subtask"),
+                "Ответ должен содержать только подзадачи с запрошенным статусом");
+
+        URI badUrl = URI.create("http://localhost:8080/subtasks?status=UNKNOWN");
+        HttpResponse<String> badResponse = client.send(HttpRequest.newBuilder().uri(badUrl).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, badResponse.statusCode());
+    }
 }
@@ -60,4 +60,21 @@ public class HttpTaskManagerTasksTest {
         assertEquals(1, manager.getAllTasks().size(), "Некорректное количество задач");
         assertEquals("Test Task", manager.getAllTasks().getFirst().getTitle(), "Некорректное имя задачи");
     }
+
+    @Test
+    public void testAddTaskWithAutoPlace() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        manager.addTask(new SimpleTask("Busy Task", "Testing task", start, Duration.ofMinutes(60)));
+        SimpleTask task = new SimpleTask("Placed Task", "Testing task", start, Duration.ofMinutes(30));
+        String taskJson = gson.toJson(task);
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/tasks?autoPlace=true");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).POST(HttpRequest.BodyPublishers.ofString(taskJson)).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(201, response.statusCode());
+        assertEquals(start.plusMinutes(61), manager.getPrioritizedTasks().getLast().getStartTime(),
+                "Задача должна быть перенесена в первый свободный промежуток");
+    }
 }
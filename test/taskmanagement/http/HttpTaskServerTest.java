@@ -0,0 +1,279 @@
+package taskmanagement.http;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.manager.InMemoryTaskManager;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpTaskServerTest {
+
+    @Test
+    void testSlowRequestDoesNotBlockOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryTaskManager manager = new InMemoryTaskManager() {
+            @Override
+            public void addTask(BaseTask task) {
+                if ("Slow".equals(task.getTitle())) {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.addTask(task);
+            }
+        };
+        manager.addTask(new SimpleTask("Task", "Description"));
+        HttpTaskServer server = new HttpTaskServer(manager,
+                HttpServerOptions.defaults().withPort(0).withExecutionMode(ExecutionMode.VIRTUAL_THREADS));
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + server.getPort();
+            String slowTask = HttpTaskServer.getGson().toJson(new SimpleTask("Slow", "Description"));
+            CompletableFuture<HttpResponse<String>> slow = client.sendAsync(
+                    HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                            .POST(HttpRequest.BodyPublishers.ofString(slowTask)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            HttpResponse<String> fast = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, fast.statusCode(), "Запрос не должен ждать завершения медленного запроса");
+            assertFalse(slow.isDone(), "Медленный запрос должен еще выполняться");
+            release.countDown();
+            assertEquals(201, slow.get(10, TimeUnit.SECONDS).statusCode(), "Медленный запрос должен завершиться");
+        } finally {
+            release.countDown();
+            server.stop();
+        }
+    }
+
+    @Test
+    void testOptionsFromArgs() {
+        HttpServerOptions options = HttpServerOptions.fromArgs(
+                new String[]{"--port=9090", "--backlog=128", "--threads=4"});
+
+        assertEquals(9090, options.getPort(), "Порт должен задаваться аргументом");
+        assertEquals(128, options.getBacklog(), "Очередь соединений должна задаваться аргументом");
+        assertEquals(ExecutionMode.BOUNDED_POOL, options.getExecutionMode(), "Размер пула включает пул потоков");
+        assertEquals(4, options.getPoolSize(), "Размер пула должен задаваться аргументом");
+        assertEquals(ExecutionMode.VIRTUAL_THREADS,
+                HttpServerOptions.fromArgs(new String[]{"--executor=virtual"}).getExecutionMode(),
+                "Режим исполнения должен задаваться аргументом");
+        assertEquals(ExecutionMode.SINGLE_THREAD, HttpServerOptions.defaults().getExecutionMode(),
+                "По умолчанию запросы должны обрабатываться в одном потоке");
+        assertThrows(IllegalArgumentException.class, () -> HttpServerOptions.fromArgs(new String[]{"--port=x"}),
+                "Нечисловой порт должен отклоняться");
+    }
+
+    @Test
+    void testBoundedPoolServesRequests() throws IOException, InterruptedException {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        manager.addTask(new SimpleTask("Task", "Description"));
+        HttpTaskServer server = new HttpTaskServer(manager, HttpServerOptions.defaults().withPort(0).withBoundedPool(2));
+        server.start();
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/tasks")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), "Пул потоков должен обслуживать запросы");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testJsonIsStreamedCompactAndTextLengthCountsBytes() throws IOException, InterruptedException {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        manager.addTask(new SimpleTask("Задача", "Описание"));
+        HttpTaskServer server = new HttpTaskServer(manager, HttpServerOptions.defaults().withPort(0));
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + server.getPort();
+            HttpResponse<String> compact = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> pretty = client.send(
+                    HttpRequest.newBuilder(URI.create(base + "/tasks?pretty=true")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> deleted = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks")).DELETE().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(compact.body().getBytes(StandardCharsets.UTF_8).length,
+                    compact.headers().firstValueAsLong("Content-Length").orElse(-1),
+                    "Небольшой ответ должен уходить с длиной в байтах UTF-8");
+            assertFalse(compact.body().contains("\n"), "JSON по умолчанию должен быть компактным");
+            assertTrue(compact.body().contains("Задача"), "Кириллица должна передаваться в UTF-8");
+            assertTrue(pretty.body().contains("\n"), "?pretty=true должен включать отступы");
+            assertEquals("Все задачи удалены", deleted.body(), "Длина текстового ответа должна считаться в байтах");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testResponsesAreCompressedByAcceptEncoding() throws IOException, InterruptedException {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        for (int i = 0; i < 200; i++) {
+            manager.addTask(new SimpleTask("Задача " + i, "Описание"));
+        }
+        HttpTaskServer server = new HttpTaskServer(manager, HttpServerOptions.defaults().withPort(0));
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            URI tasks = URI.create("http://localhost:" + server.getPort() + "/tasks");
+            String plain = client.send(HttpRequest.newBuilder(tasks).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            HttpResponse<byte[]> gzip = client.send(HttpRequest.newBuilder(tasks)
+                    .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8").GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<byte[]> deflate = client.send(HttpRequest.newBuilder(tasks)
+                    .header("Accept-Encoding", "gzip;q=0, deflate").GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<byte[]> small = client.send(HttpRequest.newBuilder(URI.create(tasks + "/1"))
+                    .header("Accept-Encoding", "gzip").DELETE().build(), HttpResponse.BodyHandlers.ofByteArray());
+
+            assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null), "Должен выбираться gzip");
+            assertEquals(plain, new String(new GZIPInputStream(new ByteArrayInputStream(gzip.body())).readAllBytes(),
+                    StandardCharsets.UTF_8), "Сжатый ответ должен распаковываться в тот же JSON");
+            assertTrue(gzip.body().length < plain.length() / 2, "Список задач должен заметно сжиматься");
+            assertEquals("deflate", deflate.headers().firstValue("Content-Encoding").orElse(null),
+                    "gzip с q=0 запрещен, должен выбираться deflate");
+            assertEquals(plain, new String(new InflaterInputStream(new ByteArrayInputStream(deflate.body())).readAllBytes(),
+                    StandardCharsets.UTF_8), "deflate должен распаковываться в тот же JSON");
+            assertTrue(small.headers().firstValue("Content-Encoding").isEmpty(), "Короткий ответ не должен сжиматься");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testGzipRequestBodyIsDecompressed() throws IOException, InterruptedException {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        HttpTaskServer server = new HttpTaskServer(manager, HttpServerOptions.defaults().withPort(0));
+        server.start();
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(HttpTaskServer.getGson().toJson(new SimpleTask("Задача", "Описание"))
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            HttpClient client = HttpClient.newHttpClient();
+            URI tasks = URI.create("http://localhost:" + server.getPort() + "/tasks");
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(tasks).header("Content-Encoding", "gzip")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(compressed.toByteArray())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> unsupported = client.send(HttpRequest.newBuilder(tasks).header("Content-Encoding", "br")
+                    .POST(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(201, created.statusCode(), "Сжатое тело запроса должно приниматься");
+            assertEquals("Задача", manager.getAllTasks().getFirst().getTitle(), "Задача должна читаться из сжатого тела");
+            assertEquals(415, unsupported.statusCode(), "Неизвестное сжатие тела должно отклоняться");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testConditionalRequestsUseVersionsAndItemTags() throws IOException, InterruptedException {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        SimpleTask task = new SimpleTask("Task", "Description");
+        manager.addTask(task);
+        HttpTaskServer server = new HttpTaskServer(manager, HttpServerOptions.defaults().withPort(0));
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + server.getPort();
+            HttpResponse<String> list = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            String listTag = list.headers().firstValue("ETag").orElseThrow();
+            HttpResponse<String> unchanged = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                    .header("If-None-Match", listTag).GET().build(), HttpResponse.BodyHandlers.ofString());
+            manager.addEpic(new EpicTask("Epic", "Description"));
+            HttpResponse<String> otherCollection = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                    .header("If-None-Match", listTag).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(304, unchanged.statusCode(), "Неизменный список должен отвечать 304");
+            assertTrue(unchanged.body().isEmpty(), "Ответ 304 не должен содержать тела");
+            assertEquals(304, otherCollection.statusCode(), "Изменение эпиков не должно менять ETag задач");
+
+            URI item = URI.create(base + "/tasks/" + task.getId());
+            String itemTag = client.send(HttpRequest.newBuilder(item).GET().build(), HttpResponse.BodyHandlers.ofString())
+                    .headers().firstValue("ETag").orElseThrow();
+            SimpleTask update = new SimpleTask("Updated", "Description");
+            update.setId(task.getId());
+            String updateJson = HttpTaskServer.getGson().toJson(update);
+            HttpResponse<String> updated = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                    .header("If-Match", itemTag).POST(HttpRequest.BodyPublishers.ofString(updateJson)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> stale = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                    .header("If-Match", itemTag).POST(HttpRequest.BodyPublishers.ofString(updateJson)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> changed = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                    .header("If-None-Match", listTag).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(201, updated.statusCode(), "Изменение с актуальным ETag должно приниматься");
+            assertEquals(412, stale.statusCode(), "Изменение с устаревшим ETag должно отклоняться");
+            assertEquals(200, changed.statusCode(), "После изменения задачи список должен отдаваться заново");
+            assertTrue(changed.body().contains("Updated"), "Новый список должен содержать изменение");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testItemEndpointsIgnoreIdsOfOtherTypes() throws IOException, InterruptedException {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        SimpleTask task = new SimpleTask("Task", "Description");
+        manager.addTask(task);
+        EpicTask epic = new EpicTask("Epic", "Description");
+        manager.addEpic(epic);
+        Subtask subtask = new Subtask("Subtask", "Description", epic.getId());
+        manager.addSubtask(subtask);
+        HttpTaskServer server = new HttpTaskServer(manager, HttpServerOptions.defaults().withPort(0));
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + server.getPort();
+            String subtaskTag = client.send(HttpRequest.newBuilder(URI.create(base + "/subtasks/" + subtask.getId()))
+                    .GET().build(), HttpResponse.BodyHandlers.ofString()).headers().firstValue("ETag").orElseThrow();
+            HttpResponse<String> subtaskAsTask = client.send(HttpRequest.newBuilder(
+                    URI.create(base + "/tasks/" + subtask.getId())).DELETE().build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> taskAsSubtask = client.send(HttpRequest.newBuilder(
+                    URI.create(base + "/subtasks/" + task.getId())).DELETE().build(), HttpResponse.BodyHandlers.ofString());
+            SimpleTask update = new SimpleTask("Updated", "Description");
+            update.setId(subtask.getId());
+            HttpResponse<String> foreignTag = client.send(HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                    .header("If-Match", subtaskTag)
+                    .POST(HttpRequest.BodyPublishers.ofString(HttpTaskServer.getGson().toJson(update))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(404, subtaskAsTask.statusCode(), "ID подзадачи не должен находиться среди задач");
+            assertEquals(404, taskAsSubtask.statusCode(), "ID задачи не должен находиться среди подзадач");
+            assertEquals(412, foreignTag.statusCode(), "If-Match не должен сравниваться с задачей другого типа");
+            assertEquals(1, manager.getAllTasks().size(), "Задача не должна удаляться");
+            assertEquals(List.of(subtask), manager.getAllSubtasks(), "Подзадача не должна удаляться или меняться");
+        } finally {
+            server.stop();
+        }
+    }
+}
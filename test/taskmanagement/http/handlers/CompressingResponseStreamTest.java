@@ -0,0 +1,39 @@
+package taskmanagement.http.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompressingResponseStreamTest {
+
+    @Test
+    void testPrefersGzipThenDeflate() {
+        assertEquals("gzip", CompressingResponseStream.negotiate(List.of("deflate, gzip")), "gzip должен выбираться первым");
+        assertEquals("deflate", CompressingResponseStream.negotiate(List.of("deflate")), "deflate должен выбираться без gzip");
+        assertNull(CompressingResponseStream.negotiate(List.of("br")), "Неизвестная кодировка не должна включать сжатие");
+        assertNull(CompressingResponseStream.negotiate(null), "Без Accept-Encoding ответ не сжимается");
+    }
+
+    @Test
+    void testWildcardDoesNotOverrideExplicitRefusal() {
+        assertEquals("deflate", CompressingResponseStream.negotiate(List.of("gzip;q=0, *")),
+                "* не должен разрешать явно запрещенный gzip");
+        assertEquals("deflate", CompressingResponseStream.negotiate(List.of("*, gzip;q=0")),
+                "Результат не должен зависеть от порядка элементов");
+        assertNull(CompressingResponseStream.negotiate(List.of("gzip;q=0, deflate;q=0, *")),
+                "* не должен разрешать ни одну из явно запрещенных кодировок");
+    }
+
+    @Test
+    void testWildcardRefusalKeepsExplicitCodings() {
+        assertEquals("gzip", CompressingResponseStream.negotiate(List.of("*;q=0, gzip")),
+                "Явно названный gzip разрешен, даже если * запрещает остальные");
+        assertEquals("gzip", CompressingResponseStream.negotiate(List.of("gzip", "*;q=0")),
+                "Порядок заголовков не должен влиять на результат");
+        assertNull(CompressingResponseStream.negotiate(List.of("*;q=0")), "* с q=0 запрещает сжатие");
+        assertEquals("gzip", CompressingResponseStream.negotiate(List.of("*")), "* разрешает gzip");
+    }
+}
@@ -0,0 +1,89 @@
+package taskmanagement.manager;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.SimpleTask;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+    private static final int THREADS = 8;
+
+    @Override
+    protected ConcurrentTaskManager createTaskManager() {
+        return new ConcurrentTaskManager(new InMemoryTaskManager());
+    }
+
+    @Test
+    void testOnlyOneConcurrentInsertClaimsTimeSlot() throws Exception {
+        LocalDateTime slot = LocalDateTime.now().plusDays(1);
+        List<Boolean> results = runConcurrently(index -> {
+            try {
+                taskManager.addTask(new SimpleTask("Task " + index, "Description", slot, Duration.ofMinutes(30)));
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        });
+
+        assertEquals(1, results.stream().filter(Boolean::booleanValue).count(), "Слот должна занять ровно одна задача");
+        assertEquals(1, taskManager.getAllTasks().size(), "В менеджере должна быть одна задача");
+    }
+
+    @Test
+    void testConcurrentInsertsGetUniqueIds() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        runConcurrently(index -> {
+            for (int i = 0; i < 50; i++) {
+                taskManager.addTask(new SimpleTask("Task", "Description",
+                        start.plusHours(index * 100L + i), Duration.ofMinutes(30)));
+            }
+            return true;
+        });
+
+        Set<Integer> ids = new HashSet<>();
+        for (BaseTask task : taskManager.getAllTasks()) {
+            ids.add(task.getId());
+        }
+        assertEquals(THREADS * 50, ids.size(), "Все задачи должны получить уникальные ID");
+        assertEquals(THREADS * 50, taskManager.getPrioritizedTasks().size(), "Все задачи должны попасть в приоритетный список");
+    }
+
+    private <T> List<T> runConcurrently(IndexedAction<T> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return action.run(index);
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Потоки должны завершиться");
+        return results;
+    }
+
+    private interface IndexedAction<T> {
+        T run(int index);
+    }
+}
@@ -0,0 +1,57 @@
+package taskmanagement.manager;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.Subtask;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EpicTimelineTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 7, 15, 10, 0);
+
+    @Test
+    void testSameStartTimesAreCountedSeparately() {
+        EpicTimeline timeline = new EpicTimeline();
+        EpicTask epic = new EpicTask("Epic", "Description");
+        epic.setId(1);
+
+        timeline.put(createSubtask(2, 0, 30));
+        timeline.put(createSubtask(3, 0, 90));
+        timeline.remove(3);
+        timeline.applyTo(epic);
+
+        assertEquals(BASE, epic.getStartTime(), "Начало должно сохраниться, пока есть подзадача с тем же временем");
+        assertEquals(BASE.plusMinutes(30), epic.getEndTime(), "Окончание должно пересчитаться после удаления");
+        assertEquals(Duration.ofMinutes(30), epic.getDuration(), "Длительность должна пересчитаться после удаления");
+    }
+
+    @Test
+    void testPutReplacesPreviousWindow() {
+        EpicTimeline timeline = new EpicTimeline();
+        EpicTask epic = new EpicTask("Epic", "Description");
+        epic.setId(1);
+
+        timeline.put(createSubtask(2, 0, 30));
+        timeline.put(createSubtask(2, 60, 15));
+        timeline.applyTo(epic);
+
+        assertEquals(BASE.plusMinutes(60), epic.getStartTime(), "Должно учитываться только новое окно подзадачи");
+        assertEquals(Duration.ofMinutes(15), epic.getDuration(), "Длительность не должна учитывать старое окно");
+
+        timeline.clear();
+        timeline.applyTo(epic);
+        assertNull(epic.getEndTime(), "После очистки окно эпика должно быть пустым");
+    }
+
+    private Subtask createSubtask(int id, int startMinutes, int durationMinutes) {
+        Subtask subtask = new Subtask("Subtask " + id, "Description", 1);
+        subtask.setId(id);
+        subtask.setStartTime(BASE.plusMinutes(startMinutes));
+        subtask.setDuration(Duration.ofMinutes(durationMinutes));
+        return subtask;
+    }
+}
@@ -1,10 +1,402 @@
 package taskmanagement.manager;
 
+import org.junit.jupiter.api.Test;
+import taskmanagement.exceptions.ManagerSaveException;
+import taskmanagement.persistence.Durability;
+import taskmanagement.persistence.FsyncPolicy;
+import taskmanagement.persistence.Journal;
+import taskmanagement.persistence.PersistenceOptions;
+import taskmanagement.persistence.SnapshotConverter;
+import taskmanagement.persistence.SnapshotFormat;
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
     @Override
     protected FileBackedTaskManager createTaskManager() {
         return new FileBackedTaskManager(new File("test_tasks.csv"));
     }
+
+    @Test
+    void testLoadFromSnapshotRestoresTasksAndEpicLinks() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+        fillBoard(manager);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+
+        assertBoardRestored(manager, loaded);
+        file.delete();
+    }
+
+    @Test
+    void testBulkLoadBuildsIndexes() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+        fillBoard(manager);
+        manager.addTask(new SimpleTask("Задача", "Описание", LocalDateTime.of(2030, 1, 2, 9, 0), Duration.ofMinutes(30)));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+
+        assertEquals(manager.getAllTasks(), loaded.getAllTasks(), "Задачи с кириллицей должны восстанавливаться");
+        assertEquals(manager.getSubtasksByStatus(TaskStatus.DONE), loaded.getSubtasksByStatus(TaskStatus.DONE),
+                "Индекс статусов должен строиться при загрузке");
+        assertEquals(1, loaded.getEpicsByStatus(TaskStatus.DONE).size(), "Статус эпика должен индексироваться после пересчета");
+        SimpleTask overlapping = new SimpleTask("Overlap", "Description", LocalDateTime.of(2030, 1, 1, 9, 10), Duration.ofMinutes(5));
+        assertTrue(loaded.isTaskOverlapping(overlapping), "Индекс пересечений должен строиться при загрузке");
+        file.delete();
+    }
+
+    @Test
+    void testImportCsvWritesSnapshotToTarget() throws IOException {
+        File source = File.createTempFile("export", ".csv");
+        File target = File.createTempFile("tasks", ".bin");
+        FileBackedTaskManager manager = new FileBackedTaskManager(source);
+        fillBoard(manager);
+
+        FileBackedTaskManager imported = FileBackedTaskManager.importCsv(source, target,
+                PersistenceOptions.snapshot().withSnapshotFormat(SnapshotFormat.BINARY));
+
+        assertEquals(SnapshotFormat.BINARY, SnapshotFormat.detect(target.toPath()), "Импорт должен записать снимок в целевой файл");
+        assertBoardRestored(manager, FileBackedTaskManager.loadFromFile(target));
+        assertBoardRestored(manager, imported);
+        source.delete();
+        target.delete();
+    }
+
+    @Test
+    void testHistoryOfAllTaskTypesRestoredWithoutWrites() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+        fillBoard(manager);
+        EpicTask epic = manager.getAllEpics().getFirst();
+        Subtask subtask = manager.getAllSubtasks().getFirst();
+        manager.getEpicById(epic.getId());
+        manager.getSubtaskById(subtask.getId());
+        manager.flushHistory();
+        byte[] saved = Files.readAllBytes(file.toPath());
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+        loaded.flushHistory();
+
+        assertEquals(manager.historyManager.getHistory(), loaded.historyManager.getHistory(), "История должна включать эпики и подзадачи");
+        assertArrayEquals(saved, Files.readAllBytes(file.toPath()), "Загрузка не должна перезаписывать файл");
+        file.delete();
+    }
+
+    @Test
+    void testCorruptSnapshotIsNotLoaded() throws IOException {
+        File file = File.createTempFile("tasks", ".bin");
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file,
+                PersistenceOptions.snapshot().withSnapshotFormat(SnapshotFormat.BINARY));
+        fillBoard(manager);
+        assertFalse(new File(file.getPath() + ".tmp").exists(), "Временный файл должен заменять снимок");
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file.toPath(), bytes);
+
+        assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file),
+                "Поврежденный снимок не должен загружаться");
+        file.delete();
+    }
+
+    @Test
+    void testLoadsSnapshotInLegacyFormat() throws IOException {
+        // Файл в прежнем формате: у задач и эпиков нет колонки epic, контрольной суммы нет
+        File file = File.createTempFile("tasks", ".csv");
+        Files.writeString(file.toPath(), String.join("\n",
+                "id,type,name,status,description,epic,startTime,duration",
+                "1,TASK,Задача,IN_PROGRESS,Описание,09:00 01.01.30,30",
+                "2,EPIC,Эпик,NEW,Описание эпика,null,0",
+                "3,SUBTASK,Подзадача,DONE,Описание подзадачи,2,10:00 02.01.30,15",
+                "",
+                "1,2",
+                ""));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+
+        BaseTask task = loaded.getTaskById(1);
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus(), "Статус задачи старого формата должен читаться");
+        assertEquals(LocalDateTime.of(2030, 1, 1, 9, 0), task.getStartTime(), "Время задачи старого формата должно читаться");
+        assertEquals(Duration.ofMinutes(30), task.getDuration(), "Длительность задачи старого формата должна читаться");
+        assertEquals(List.of(3), loaded.getEpicById(2).getSubtaskIds(), "Подзадача должна привязаться к эпику старого формата");
+        assertEquals(TaskStatus.DONE, loaded.getEpicById(2).getStatus(), "Статус эпика должен пересчитываться по подзадачам");
+        file.delete();
+    }
+
+    @Test
+    void testAsyncWriteQueueRestoresAfterAwait() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+        PersistenceOptions options = PersistenceOptions.journal(FsyncPolicy.ALWAYS).withWriteQueue(4, Durability.ASYNC);
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file, options);
+        fillBoard(manager);
+        manager.awaitPersisted();
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file, PersistenceOptions.journal(FsyncPolicy.ALWAYS));
+
+        assertBoardRestored(manager, loaded);
+        assertTrue(manager.getMetrics().getCommitCount() > 0, "Записи должны идти через очередь");
+        manager.close();
+        loaded.close();
+        Files.deleteIfExists(manager.journalPath());
+    }
+
+    @Test
+    void testSnapshotModeWriteQueueWritesLatestState() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file,
+                PersistenceOptions.snapshot().withWriteQueue(2, Durability.SYNC));
+        fillBoard(manager);
+
+        assertBoardRestored(manager, FileBackedTaskManager.loadFromFile(file));
+        manager.close();
+        file.delete();
+    }
+
+    @Test
+    void testWriteQueueFailureStopsFurtherWrites() throws IOException {
+        File dir = Files.createTempDirectory("tasks").toFile();
+        File file = new File(dir, "tasks.csv");
+        // Снимок нельзя подменить каталогом с файлом внутри — первая же запись завершится ошибкой
+        File blocker = new File(file, "blocker");
+        assertTrue(blocker.getParentFile().mkdir() && blocker.createNewFile(), "Не удалось подготовить каталог");
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file,
+                PersistenceOptions.snapshot().withWriteQueue(2, Durability.SYNC));
+
+        assertThrows(ManagerSaveException.class, () -> manager.addTask(new SimpleTask("Первая", "Описание")),
+                "Ошибка записи должна доходить до операции");
+        assertThrows(ManagerSaveException.class, () -> manager.addTask(new SimpleTask("Вторая", "Описание")),
+                "После ошибки очередь не должна принимать новые изменения");
+        assertThrows(ManagerSaveException.class, manager::awaitPersisted, "Ожидание записи должно сообщать об ошибке");
+        assertEquals(1, manager.getMetrics().getWriteFailures(), "Ошибка должна учитываться в метриках один раз");
+        assertThrows(IOException.class, manager::close, "Закрытие должно сообщать об ошибке фоновой записи");
+        blocker.delete();
+        new File(dir, "tasks.csv.tmp").delete();
+        file.delete();
+        dir.delete();
+    }
+
+    @Test
+    void testBinarySnapshotLoadsByHeader() throws IOException {
+        File file = File.createTempFile("tasks", ".bin");
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file,
+                PersistenceOptions.snapshot().withSnapshotFormat(SnapshotFormat.BINARY));
+        fillBoard(manager);
+
+        assertEquals(SnapshotFormat.BINARY, SnapshotFormat.detect(file.toPath()), "Снимок должен быть записан в двоичном формате");
+        // Формат определяется по заголовку, поэтому загрузка с настройками по умолчанию тоже работает
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+
+        assertBoardRestored(manager, loaded);
+        file.delete();
+    }
+
+    @Test
+    void testSnapshotConvertsBetweenFormats() throws IOException {
+        File csv = File.createTempFile("tasks", ".csv");
+        File binary = File.createTempFile("tasks", ".bin");
+        FileBackedTaskManager manager = new FileBackedTaskManager(csv);
+        fillBoard(manager);
+
+        SnapshotConverter.convert(csv.toPath(), binary.toPath(), SnapshotFormat.BINARY);
+
+        assertTrue(binary.length() < csv.length(), "Двоичный снимок должен быть компактнее CSV");
+        assertBoardRestored(manager, FileBackedTaskManager.loadFromFile(binary));
+        csv.delete();
+        binary.delete();
+    }
+
+    @Test
+    void testJournalReplayRestoresState() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+        PersistenceOptions options = PersistenceOptions.journal(FsyncPolicy.ALWAYS);
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file, options);
+        fillBoard(manager);
+        manager.close();
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file, options);
+
+        assertFalse(file.exists(), "В режиме журнала изменения не должны перезаписывать снимок");
+        assertBoardRestored(manager, loaded);
+        loaded.close();
+        Files.deleteIfExists(loaded.journalPath());
+    }
+
+    @Test
+    void testPagedFileRestoresState() throws IOException {
+        File file = File.createTempFile("tasks", ".pages");
+        PersistenceOptions options = PersistenceOptions.paged(FsyncPolicy.OS);
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file, options);
+        fillBoard(manager);
+        EpicTask removed = new EpicTask("Removed", "Description");
+        manager.addEpic(removed);
+        manager.addSubtask(new Subtask("Removed subtask", "Description", removed.getId()));
+        manager.deleteEpic(removed.getId());
+        manager.close();
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file, options);
+
+        assertBoardRestored(manager, loaded);
+        assertTrue(manager.getMetrics().getPagedWrites() > 0, "Изменения должны писаться в страничный файл");
+        loaded.close();
+        file.delete();
+    }
+
+    @Test
+    void testReadsDoNotWriteUntilHistoryFlush() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file,
+                PersistenceOptions.snapshot().withHistoryFlush(60_000, 1000));
+        SimpleTask task = new SimpleTask("Task", "Description");
+        manager.addTask(task);
+        String saved = Files.readString(file.toPath());
+
+        manager.getTaskById(task.getId());
+        manager.getTaskById(task.getId());
+
+        assertEquals(saved, Files.readString(file.toPath()), "Чтение не должно перезаписывать файл");
+        manager.flushHistory();
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+        assertEquals(List.of(task), loaded.historyManager.getHistory(), "Просмотр должен сохраниться после записи истории");
+        file.delete();
+    }
+
+    @Test
+    void testJournalKeepsViewOrder() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+        PersistenceOptions options = PersistenceOptions.journal(FsyncPolicy.OS).withHistoryFlush(60_000, 1000);
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file, options);
+        SimpleTask first = new SimpleTask("First", "Description");
+        SimpleTask second = new SimpleTask("Second", "Description");
+        manager.addTask(first);
+        manager.addTask(second);
+        manager.getTaskById(first.getId());
+        manager.updateTask(second);
+        manager.close();
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file, options);
+
+        assertEquals(List.of(first, second), loaded.historyManager.getHistory(),
+                "Порядок просмотров и изменений в истории должен сохраняться");
+        loaded.close();
+        Files.deleteIfExists(loaded.journalPath());
+    }
+
+    @Test
+    void testHistoryFlushedInBackgroundAfterThreshold() throws Exception {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+        PersistenceOptions options = PersistenceOptions.journal(FsyncPolicy.OS).withHistoryFlush(60_000, 2);
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file, options);
+        SimpleTask task = new SimpleTask("Task", "Description");
+        manager.addTask(task);
+        long sizeAfterAdd = Files.size(manager.journalPath());
+
+        manager.getTaskById(task.getId());
+        manager.getTaskById(task.getId());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(manager.journalPath()) == sizeAfterAdd && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(Files.size(manager.journalPath()) > sizeAfterAdd, "Порог просмотров должен запускать фоновую запись");
+        manager.close();
+        Files.deleteIfExists(manager.journalPath());
+    }
+
+    @Test
+    void testCheckpointWritesSnapshotAndTruncatesJournal() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+        PersistenceOptions options = PersistenceOptions.journal(FsyncPolicy.OS).withCheckpoint(0, 0);
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file, options);
+        fillBoard(manager);
+
+        manager.checkpoint();
+
+        assertTrue(file.exists(), "Контрольная точка должна записать снимок");
+        assertEquals(0, Files.size(manager.journalPath()), "После контрольной точки журнал должен начинаться заново");
+        assertTrue(Journal.segments(manager.journalPath()).isEmpty(), "Сегменты, вошедшие в снимок, должны удаляться");
+        assertEquals(1, manager.getMetrics().getCheckpointCount(), "Контрольная точка должна учитываться в метриках");
+        assertEquals(Files.size(file.toPath()), manager.getMetrics().getLastCheckpointBytes(),
+                "Метрика должна содержать размер записанного снимка");
+
+        SimpleTask afterCheckpoint = new SimpleTask("After checkpoint", "Description");
+        manager.addTask(afterCheckpoint);
+        manager.close();
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file, options);
+
+        assertEquals(manager.getAllTasks(), loaded.getAllTasks(), "Загрузка должна объединять снимок и хвост журнала");
+        assertBoardRestored(manager, loaded);
+        loaded.close();
+        Files.deleteIfExists(loaded.journalPath());
+        file.delete();
+    }
+
+    @Test
+    void testCheckpointTriggeredByJournalSize() throws Exception {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+        FileBackedTaskManager manager = FileBackedTaskManager.create(file,
+                PersistenceOptions.journal(FsyncPolicy.OS).withCheckpoint(1, 0));
+
+        manager.addTask(new SimpleTask("Task", "Description"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (manager.getMetrics().getCheckpointCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(manager.getMetrics().getCheckpointCount() > 0, "Размер журнала должен запускать контрольную точку");
+        manager.close();
+        Files.deleteIfExists(manager.journalPath());
+        file.delete();
+    }
+
+    private void fillBoard(FileBackedTaskManager manager) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        SimpleTask task = new SimpleTask("Task", "Description", start, Duration.ofMinutes(30));
+        manager.addTask(task);
+        SimpleTask removed = new SimpleTask("Removed", "Description");
+        manager.addTask(removed);
+        EpicTask epic = new EpicTask("Epic", "Description");
+        manager.addEpic(epic);
+        Subtask subtask = new Subtask("Subtask", "Description", epic.getId());
+        subtask.setStartTime(start.plusHours(1));
+        subtask.setDuration(Duration.ofMinutes(45));
+        manager.addSubtask(subtask);
+        subtask.setStatus(TaskStatus.DONE);
+        manager.updateSubtask(subtask);
+        manager.deleteTask(removed.getId());
+    }
+
+    private void assertBoardRestored(FileBackedTaskManager expected, FileBackedTaskManager loaded) {
+        assertEquals(expected.getAllTasks(), loaded.getAllTasks(), "Задачи должны восстанавливаться");
+        assertEquals(expected.getAllSubtasks(), loaded.getAllSubtasks(), "Подзадачи должны восстанавливаться");
+        EpicTask epic = loaded.getAllEpics().getFirst();
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Статус эпика должен пересчитываться по подзадачам");
+        assertEquals(expected.getAllSubtasks().getFirst().getStartTime(), epic.getStartTime(),
+                "Время эпика должно пересчитываться по подзадачам");
+        assertEquals(expected.getPrioritizedTasks(), loaded.getPrioritizedTasks(), "Приоритетный список должен восстанавливаться");
+
+        SimpleTask next = new SimpleTask("Next", "Description");
+        loaded.addTask(next);
+        assertTrue(next.getId() > expected.getAllSubtasks().getFirst().getId(),
+                "Новые ID после загрузки не должны совпадать с загруженными");
+    }
 }
@@ -83,4 +83,14 @@ class InMemoryHistoryManagerTest {
         List<BaseTask> history = historyManager.getHistory();
         assertTrue(history.isEmpty(), "История должна быть пустой после удаления всех задач");
     }
+
+    @Test
+    void testRestoreReplacesHistoryInOrder() {
+        historyManager.restore(List.of(task3, task1, task3));
+
+        assertEquals(List.of(task1, task3), historyManager.getHistory(),
+                "Повторный просмотр при восстановлении должен переносить задачу в конец");
+        historyManager.remove(task3.getId());
+        assertEquals(List.of(task1), historyManager.getHistory(), "Восстановленные записи должны удаляться по ID");
+    }
 }
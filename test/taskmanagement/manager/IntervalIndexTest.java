@@ -0,0 +1,99 @@
+package taskmanagement.manager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.SimpleTask;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 7, 15, 10, 0);
+    private IntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IntervalIndex();
+    }
+
+    @Test
+    void testFindOverlappingWithInclusiveBounds() {
+        SimpleTask task1 = createTask(1, 0, 60);
+        SimpleTask task2 = createTask(2, 120, 60);
+        index.add(task1);
+        index.add(task2);
+
+        assertEquals(List.of(task1), index.findOverlapping(BASE.plusMinutes(60), BASE.plusMinutes(90)),
+                "Касание по границе должно считаться пересечением");
+        assertTrue(index.findOverlapping(BASE.plusMinutes(61), BASE.plusMinutes(119)).isEmpty(),
+                "Интервал в промежутке не должен пересекаться с задачами");
+        assertEquals(2, index.findOverlapping(BASE.minusMinutes(10), BASE.plusMinutes(500)).size(),
+                "Широкий интервал должен пересекаться с обеими задачами");
+    }
+
+    @Test
+    void testRemoveUsesIndexedInterval() {
+        SimpleTask task = createTask(1, 0, 60);
+        index.add(task);
+        task.setStartTime(BASE.plusDays(1));
+
+        index.remove(task.getId());
+
+        assertEquals(0, index.size(), "Задача должна быть удалена даже после изменения времени");
+        assertTrue(index.findOverlapping(BASE, BASE.plusMinutes(30)).isEmpty(), "Индекс должен быть пустым");
+    }
+
+    @Test
+    void testMatchesLinearScanAfterManyUpdates() {
+        for (int i = 1; i <= 500; i++) {
+            index.add(createTask(i, (i * 37) % 1000, 5 + i % 50));
+        }
+        for (int i = 1; i <= 500; i += 3) {
+            index.remove(i);
+        }
+
+        SimpleTask probe = createTask(1000, 400, 45);
+        List<BaseTask> found = index.findOverlapping(probe.getStartTime(), probe.getEndTime());
+        long expected = 0;
+        for (int i = 1; i <= 500; i++) {
+            if ((i - 1) % 3 != 0 && probe.isOverlapping(createTask(i, (i * 37) % 1000, 5 + i % 50))) {
+                expected++;
+            }
+        }
+
+        assertEquals(expected, found.size(), "Результат должен совпадать с полным перебором");
+    }
+
+    @Test
+    void testBuildMatchesIncrementalAdds() {
+        IntervalIndex incremental = new IntervalIndex();
+        List<BaseTask> sorted = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            SimpleTask task = createTask(i, i * 10, 5 + i % 30);
+            sorted.add(task);
+            incremental.add(task);
+        }
+
+        index.build(sorted);
+        index.remove(7);
+        incremental.remove(7);
+
+        assertEquals(incremental.size(), index.size(), "Размер индекса должен совпадать");
+        assertEquals(incremental.findOverlapping(BASE.plusMinutes(400), BASE.plusMinutes(900)),
+                index.findOverlapping(BASE.plusMinutes(400), BASE.plusMinutes(900)),
+                "Поиск по построенному индексу должен совпадать с поиском после вставок");
+    }
+
+    private SimpleTask createTask(int id, int startMinutes, int durationMinutes) {
+        SimpleTask task = new SimpleTask("Task " + id, "Description",
+                BASE.plusMinutes(startMinutes), Duration.ofMinutes(durationMinutes));
+        task.setId(id);
+        return task;
+    }
+}
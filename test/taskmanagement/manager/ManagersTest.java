@@ -14,4 +14,11 @@ class ManagersTest {
         assertNotNull(taskManager, "Должен быть возвращен проинициализированный экземпляр TaskManager");
         assertNotNull(historyManager, "Должен быть возвращен проинициализированный экземпляр HistoryManager");
     }
+
+    @Test
+    void testGetConcurrent() {
+        TaskManager taskManager = Managers.getConcurrent();
+
+        assertInstanceOf(ConcurrentTaskManager.class, taskManager, "Должна быть возвращена потокобезопасная реализация TaskManager");
+    }
 }
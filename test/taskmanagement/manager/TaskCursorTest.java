@@ -0,0 +1,30 @@
+package taskmanagement.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCursorTest {
+
+    @Test
+    void testParseRestoresCursor() {
+        TaskCursor cursor = new TaskCursor(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_000_000), 42);
+
+        TaskCursor parsed = TaskCursor.parse(cursor.toString());
+
+        assertEquals(cursor, parsed, "Курсор должен восстанавливаться из строки без потери точности");
+        assertEquals(42, parsed.getId(), "ID курсора должен сохраняться");
+    }
+
+    @Test
+    void testParseRejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.parse("2024-05-01T10:15"),
+                "Курсор без ID должен отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.parse("вчера_5"),
+                "Курсор с некорректным временем должен отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.parse("2024-05-01T10:15_x"),
+                "Курсор с некорректным ID должен отклоняться");
+    }
+}
@@ -11,6 +11,7 @@ import taskmanagement.util.TimeUtils;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -93,6 +94,33 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertThrows(IllegalArgumentException.class, () -> taskManager.addTask(task2), "Должно быть исключение при пересечении задач");
     }
 
+    @Test
+    void testGetOverlappingTasks() {
+        SimpleTask task1 = createSimpleTask("Task 1", "Description", 10, 60);
+        SimpleTask task2 = createSimpleTask("Task 2", "Description", 100, 60);
+        taskManager.addTask(task1);
+        taskManager.addTask(task2);
+
+        SimpleTask candidate = createSimpleTask("Candidate", "Description", 50, 60);
+        List<BaseTask> overlapping = taskManager.getOverlappingTasks(candidate);
+
+        assertEquals(2, overlapping.size(), "Кандидат должен пересекаться с обеими задачами");
+        assertTrue(overlapping.contains(task1) && overlapping.contains(task2), "Должны быть возвращены пересекающиеся задачи");
+    }
+
+    @Test
+    void testUpdateTaskDoesNotOverlapWithItself() {
+        SimpleTask task = createSimpleTask("Task", "Description", 10, 60);
+        taskManager.addTask(task);
+
+        SimpleTask moved = createSimpleTask("Task", "Description", 40, 60);
+        moved.setId(task.getId());
+        taskManager.updateTask(moved);
+
+        assertTrue(taskManager.getOverlappingTasks(moved).isEmpty(), "Задача не должна пересекаться сама с собой");
+        assertEquals(1, taskManager.getPrioritizedTasks().size(), "Старая версия задачи должна быть удалена из приоритетного списка");
+    }
+
     @Test
     void testEpicStatusWithNewSubtasks() {
         EpicTask epic = new EpicTask("Epic", "Description");
@@ -141,6 +169,312 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(TaskStatus.IN_PROGRESS, foundEpic.getStatus(), "Статус эпика должен быть IN_PROGRESS при всех подзадачах со статусом IN_PROGRESS");
     }
 
+    @Test
+    void testEpicStatusFollowsSubtaskUpdatesAndDeletes() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        taskManager.addEpic(epic);
+        Subtask subtask1 = addSubtaskToEpic(epic, "Subtask 1", TaskStatus.NEW);
+        Subtask subtask2 = addSubtaskToEpic(epic, "Subtask 2", TaskStatus.DONE);
+
+        Subtask updated = new Subtask("Subtask 1", "Description", epic.getId());
+        updated.setId(subtask1.getId());
+        updated.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(updated);
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epic.getId()).getStatus(), "Статус эпика должен стать DONE после обновления подзадачи");
+
+        subtask2.setStatus(TaskStatus.IN_PROGRESS);
+        taskManager.updateSubtask(subtask2);
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(epic.getId()).getStatus(), "Статус эпика должен учитывать изменённый объект подзадачи");
+
+        taskManager.deleteSubtask(subtask2.getId());
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epic.getId()).getStatus(), "Статус эпика должен пересчитываться после удаления подзадачи");
+
+        taskManager.deleteAllSubtasks();
+        assertEquals(TaskStatus.NEW, taskManager.getEpicById(epic.getId()).getStatus(), "Статус эпика без подзадач должен быть NEW");
+        assertTrue(taskManager.getSubtasksByEpicId(epic.getId()).isEmpty(), "У эпика не должно остаться подзадач");
+    }
+
+    @Test
+    void testUpdateEpicKeepsSubtasks() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        taskManager.addEpic(epic);
+        addSubtaskToEpic(epic, "Subtask 1", TaskStatus.DONE);
+
+        EpicTask updated = new EpicTask("Updated Epic", "Description");
+        updated.setId(epic.getId());
+        taskManager.updateEpic(updated);
+
+        EpicTask foundEpic = taskManager.getEpicById(epic.getId());
+        assertEquals("Updated Epic", foundEpic.getTitle(), "Название эпика должно быть обновлено");
+        assertEquals(1, taskManager.getSubtasksByEpicId(epic.getId()).size(), "Подзадачи эпика должны сохраниться");
+        assertEquals(TaskStatus.DONE, foundEpic.getStatus(), "Статус эпика должен рассчитываться по подзадачам");
+    }
+
+    @Test
+    void testEpicTimeWindowFollowsSubtasks() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        taskManager.addEpic(epic);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Subtask subtask1 = addTimedSubtask(epic, "Subtask 1", start, 30);
+        Subtask subtask2 = addTimedSubtask(epic, "Subtask 2", start.plusHours(2), 45);
+
+        EpicTask foundEpic = taskManager.getEpicById(epic.getId());
+        assertEquals(start, foundEpic.getStartTime(), "Начало эпика должно совпадать с началом первой подзадачи");
+        assertEquals(subtask2.getEndTime(), foundEpic.getEndTime(), "Окончание эпика должно совпадать с окончанием последней подзадачи");
+        assertEquals(Duration.ofMinutes(75), foundEpic.getDuration(), "Длительность эпика должна быть суммой длительностей подзадач");
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Эпик не должен попадать в приоритетный список");
+
+        taskManager.deleteSubtask(subtask2.getId());
+        assertEquals(subtask1.getEndTime(), foundEpic.getEndTime(), "Окончание эпика должно пересчитываться после удаления подзадачи");
+        assertEquals(Duration.ofMinutes(30), foundEpic.getDuration(), "Длительность эпика должна пересчитываться после удаления подзадачи");
+
+        taskManager.deleteAllSubtasks();
+        assertNull(foundEpic.getStartTime(), "У эпика без подзадач не должно быть времени начала");
+        assertEquals(Duration.ZERO, foundEpic.getDuration(), "У эпика без подзадач длительность должна быть нулевой");
+    }
+
+    @Test
+    void testAddAllAddsBatchWithSingleSnapshot() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        taskManager.addEpic(epic);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        SimpleTask task = createSimpleTask("Task", "Description", 10, 30);
+        Subtask subtask1 = new Subtask("Subtask 1", "Description", epic.getId());
+        subtask1.setStartTime(start);
+        subtask1.setDuration(Duration.ofMinutes(30));
+        subtask1.setStatus(TaskStatus.DONE);
+        Subtask subtask2 = new Subtask("Subtask 2", "Description", epic.getId());
+        subtask2.setStartTime(start.plusHours(1));
+        subtask2.setDuration(Duration.ofMinutes(45));
+        long version = taskManager.getSnapshot().getVersion();
+
+        taskManager.addAll(List.of(task, subtask1, subtask2));
+
+        assertEquals(version + 1, taskManager.getSnapshot().getVersion(), "Пакет должен публиковать одну версию снимка");
+        assertEquals(1, taskManager.getAllTasks().size(), "Задача из пакета должна быть добавлена");
+        assertEquals(2, taskManager.getAllSubtasks().size(), "Подзадачи из пакета должны быть добавлены");
+        assertEquals(3, taskManager.getPrioritizedTasks().size(), "Задачи пакета должны попасть в приоритетный список");
+        EpicTask foundEpic = taskManager.getEpicById(epic.getId());
+        assertEquals(TaskStatus.IN_PROGRESS, foundEpic.getStatus(), "Статус эпика должен учитывать подзадачи пакета");
+        assertEquals(start, foundEpic.getStartTime(), "Начало эпика должно учитывать подзадачи пакета");
+        assertEquals(subtask2.getEndTime(), foundEpic.getEndTime(), "Окончание эпика должно учитывать подзадачи пакета");
+    }
+
+    @Test
+    void testAddAllLinksSubtasksToEpicOfSameBatch() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        epic.setId(-1);
+        Subtask subtask = new Subtask("Subtask", "Description", -1);
+        subtask.setStatus(TaskStatus.DONE);
+
+        taskManager.addAll(List.of(epic, subtask));
+
+        assertTrue(epic.getId() > 0, "Эпику пакета должен выдаваться ID менеджера");
+        assertEquals((int) epic.getId(), subtask.getEpicId(), "Подзадача должна ссылаться на выданный ID эпика");
+        assertEquals(List.of(subtask.getId()), taskManager.getEpicById(epic.getId()).getSubtaskIds(),
+                "Подзадача должна привязываться к эпику из того же пакета");
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epic.getId()).getStatus(), "Статус эпика должен учитывать подзадачу");
+
+        Subtask beforeEpic = new Subtask("Before", "Description", -2);
+        EpicTask laterEpic = new EpicTask("Later", "Description");
+        laterEpic.setId(-2);
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addAll(List.of(beforeEpic, laterEpic)),
+                "Подзадача может ссылаться только на эпик, стоящий в пакете раньше нее");
+    }
+
+    @Test
+    void testAddAllSweepFindsOverlapWithEarlierLongTask() {
+        SimpleTask longTask = createSimpleTask("Long", "Description", 10, 300);
+        SimpleTask after = createSimpleTask("After", "Description", 400, 30);
+        taskManager.addTask(longTask);
+        taskManager.addTask(after);
+
+        SimpleTask inside = createSimpleTask("Inside", "Description", 200, 10);
+        SimpleTask beforeAfter = createSimpleTask("Before after", "Description", 380, 30);
+        SimpleTask free = createSimpleTask("Free", "Description", 500, 30);
+
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addAll(List.of(inside)),
+                "Задача внутри существующей длинной задачи должна отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addAll(List.of(free, beforeAfter)),
+                "Задача, заходящая на следующую существующую, должна отклоняться");
+        taskManager.addAll(List.of(free));
+        assertEquals(3, taskManager.getPrioritizedTasks().size(), "Свободная задача должна добавляться");
+    }
+
+    @Test
+    void testAddAllIsAllOrNothing() {
+        SimpleTask existing = createSimpleTask("Existing", "Description", 10, 60);
+        taskManager.addTask(existing);
+
+        SimpleTask first = createSimpleTask("First", "Description", 200, 30);
+        SimpleTask overlapsFirst = createSimpleTask("Overlaps first", "Description", 210, 30);
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addAll(List.of(first, overlapsFirst)),
+                "Пересечение внутри пакета должно отклонять весь пакет");
+
+        SimpleTask free = createSimpleTask("Free", "Description", 300, 30);
+        SimpleTask overlapsExisting = createSimpleTask("Overlaps existing", "Description", 20, 30);
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addAll(List.of(free, overlapsExisting)),
+                "Пересечение с существующей задачей должно отклонять весь пакет");
+
+        Subtask orphan = new Subtask("Orphan", "Description", 999);
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addAll(List.of(free, orphan)),
+                "Подзадача без эпика должна отклонять весь пакет");
+
+        assertEquals(1, taskManager.getAllTasks().size(), "Отклоненный пакет не должен добавлять задачи");
+        assertEquals(1, taskManager.getPrioritizedTasks().size(), "Отклоненный пакет не должен менять приоритетный список");
+        assertNull(free.getId(), "Задачам отклоненного пакета не должен назначаться ID");
+    }
+
+    @Test
+    void testPrioritizedWindowAndCursorPagination() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<SimpleTask> added = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            SimpleTask task = new SimpleTask("Task " + i, "Description", start.plusHours(i), Duration.ofMinutes(30));
+            taskManager.addTask(task);
+            added.add(task);
+        }
+
+        List<BaseTask> window = taskManager.getPrioritizedTasks(start.plusHours(1), start.plusHours(3));
+        assertEquals(List.of(added.get(1), added.get(2)), window, "Окно должно включать начало и исключать конец");
+        assertEquals(5, taskManager.getPrioritizedTasks(null, null).size(), "Пустые границы не должны ограничивать выборку");
+
+        List<BaseTask> firstPage = taskManager.getPrioritizedTasks(null, null, null, 2);
+        assertEquals(List.of(added.get(0), added.get(1)), firstPage, "Первая страница должна начинаться с самой ранней задачи");
+        List<BaseTask> secondPage = taskManager.getPrioritizedTasks(null, null, TaskCursor.after(firstPage.getLast()), 2);
+        assertEquals(List.of(added.get(2), added.get(3)), secondPage, "Следующая страница должна начинаться после курсора");
+
+        taskManager.deleteTask(added.get(3).getId());
+        List<BaseTask> lastPage = taskManager.getPrioritizedTasks(null, null, TaskCursor.after(added.get(3)), 2);
+        assertEquals(List.of(added.get(4)), lastPage, "Курсор должен оставаться валидным после удаления задачи");
+        assertTrue(taskManager.getPrioritizedTasks(start.plusHours(10), null).isEmpty(), "Пустое окно должно давать пустой список");
+    }
+
+    @Test
+    void testFindFreeSlotsSkipsBusyTime() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        taskManager.addTask(new SimpleTask("Morning", "Description", start, Duration.ofMinutes(60)));
+        taskManager.addTask(new SimpleTask("Noon", "Description", start.plusMinutes(90), Duration.ofMinutes(60)));
+
+        List<TimeSlot> slots = taskManager.findFreeSlots(Duration.ofMinutes(20), start, start.plusHours(5), 5);
+
+        assertEquals(List.of(
+                new TimeSlot(start.plusMinutes(61), start.plusMinutes(89)),
+                new TimeSlot(start.plusMinutes(151), start.plusHours(5))
+        ), slots, "Промежутки должны находиться между задачами и не касаться их границ");
+        assertTrue(taskManager.findFreeSlots(Duration.ofMinutes(40), start, start.plusHours(2), 5).isEmpty(),
+                "Промежуток короче длительности не должен возвращаться");
+        assertEquals(1, taskManager.findFreeSlots(Duration.ofMinutes(20), start, null, 1).size(),
+                "Количество промежутков должно ограничиваться параметром count");
+
+        List<TimeSlot> openSlots = taskManager.findFreeSlots(Duration.ofMinutes(20), start.plusMinutes(100), null, 5);
+        assertEquals(List.of(new TimeSlot(start.plusMinutes(151), null)), openSlots,
+                "Поиск внутри занятой задачи должен начинаться после ее окончания");
+    }
+
+    @Test
+    void testAddTaskToFreeSlot() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        taskManager.addTask(new SimpleTask("Busy", "Description", start, Duration.ofMinutes(60)));
+        SimpleTask task = new SimpleTask("Placed", "Description");
+        task.setDuration(Duration.ofMinutes(30));
+
+        taskManager.addTaskToFreeSlot(task, start);
+
+        assertEquals(start.plusMinutes(61), task.getStartTime(), "Задача должна встать в первый свободный промежуток");
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Размещенная задача должна попасть в приоритетный список");
+    }
+
+    @Test
+    void testStatusIndexesFollowUpdates() {
+        SimpleTask task = createSimpleTask("Task", "Description", 10, 30);
+        taskManager.addTask(task);
+        EpicTask epic = new EpicTask("Epic", "Description");
+        taskManager.addEpic(epic);
+        Subtask subtask = addSubtaskToEpic(epic, "Subtask", TaskStatus.NEW);
+
+        assertEquals(List.of(task), taskManager.getTasksByStatus(TaskStatus.NEW), "Новая задача должна попасть в индекс NEW");
+        assertEquals(List.of(epic), taskManager.getEpicsByStatus(TaskStatus.NEW), "Новый эпик должен попасть в индекс NEW");
+
+        task.setStatus(TaskStatus.DONE);
+        taskManager.updateTask(task);
+        subtask.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+
+        assertTrue(taskManager.getTasksByStatus(TaskStatus.NEW).isEmpty(), "Задача должна покинуть индекс прежнего статуса");
+        assertEquals(List.of(task), taskManager.getTasksByStatus(TaskStatus.DONE), "Задача должна попасть в индекс нового статуса");
+        assertEquals(List.of(subtask), taskManager.getSubtasksByStatus(TaskStatus.DONE), "Подзадача должна попасть в индекс нового статуса");
+        assertEquals(List.of(epic), taskManager.getEpicsByStatus(TaskStatus.DONE), "Эпик должен переиндексироваться при пересчете статуса");
+        assertTrue(taskManager.getEpicsByStatus(TaskStatus.NEW).isEmpty(), "Эпик должен покинуть индекс прежнего статуса");
+
+        taskManager.deleteSubtask(subtask.getId());
+        assertTrue(taskManager.getSubtasksByStatus(TaskStatus.DONE).isEmpty(), "Удаленная подзадача должна покинуть индекс");
+        assertEquals(List.of(epic), taskManager.getEpicsByStatus(TaskStatus.NEW), "Эпик без подзадач должен вернуться в индекс NEW");
+    }
+
+    @Test
+    void testSnapshotIsVersionedAndImmutable() {
+        TaskSnapshot before = taskManager.getSnapshot();
+        SimpleTask task = createSimpleTask("Task", "Description", 10, 60);
+        taskManager.addTask(task);
+        TaskSnapshot after = taskManager.getSnapshot();
+
+        assertTrue(after.getVersion() > before.getVersion(), "Версия снимка должна увеличиваться после изменения");
+        assertTrue(before.getTasks().isEmpty(), "Старый снимок не должен видеть новые задачи");
+        assertEquals(List.of(task), after.getTasks(), "Новый снимок должен содержать добавленную задачу");
+        assertEquals(List.of(task), after.getPrioritizedTasks(), "Новый снимок должен содержать задачу в приоритетном списке");
+
+        taskManager.deleteTask(task.getId());
+        assertEquals(1, after.getTasks().size(), "Снимок не должен меняться после удаления задачи");
+        assertSame(taskManager.getSnapshot(), taskManager.getSnapshot(), "Без изменений должен возвращаться тот же снимок");
+    }
+
+    @Test
+    void testReplacedEpicInOldSnapshotKeepsItsSubtasks() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        taskManager.addEpic(epic);
+        Subtask first = new Subtask("First", "Description", epic.getId());
+        first.setStatus(TaskStatus.DONE);
+        taskManager.addSubtask(first);
+        EpicTask update = new EpicTask("Updated", "Description");
+        update.setId(epic.getId());
+        taskManager.updateEpic(update);
+        TaskSnapshot before = taskManager.getSnapshot();
+        EpicTask next = new EpicTask("Again", "Description");
+        next.setId(epic.getId());
+        taskManager.updateEpic(next);
+        EpicTask held = before.findEpic(epic.getId());
+
+        taskManager.addSubtask(new Subtask("Second", "Description", epic.getId()));
+        taskManager.deleteSubtask(first.getId());
+
+        assertEquals(List.of(first.getId()), held.getSubtaskIds(), "Эпик старого снимка не должен видеть изменения подзадач");
+        assertEquals(TaskStatus.DONE, held.getStatus(), "Статус эпика старого снимка не должен меняться");
+        assertEquals(1, taskManager.getEpicById(epic.getId()).getSubtaskCount(), "Текущий эпик должен видеть изменения");
+    }
+
+    @Test
+    void testCollectionVersionsChangeOnlyWithContent() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        taskManager.addEpic(epic);
+        TaskSnapshot before = taskManager.getSnapshot();
+
+        taskManager.addTask(createSimpleTask("Task", "Description", 10, 60));
+        TaskSnapshot afterTask = taskManager.getSnapshot();
+        taskManager.addSubtask(new Subtask("Subtask", "Description", epic.getId()));
+        TaskSnapshot afterSubtask = taskManager.getSnapshot();
+
+        assertEquals(afterSubtask.getVersion(), taskManager.getVersion(), "Версия менеджера — версия текущего снимка");
+        assertTrue(afterTask.getTasksVersion() > before.getTasksVersion(), "Добавление задачи меняет версию задач");
+        assertEquals(before.getEpicsVersion(), afterTask.getEpicsVersion(), "Добавление задачи не меняет версию эпиков");
+        assertEquals(before.getSubtasksVersion(), afterTask.getSubtasksVersion(), "Добавление задачи не меняет версию подзадач");
+        assertTrue(afterTask.getPrioritizedVersion() > before.getPrioritizedVersion(),
+                "Добавление задачи меняет версию приоритетного списка");
+        assertEquals(afterTask.getTasksVersion(), afterSubtask.getTasksVersion(), "Подзадача не меняет версию задач");
+        assertTrue(afterSubtask.getEpicsVersion() > afterTask.getEpicsVersion(),
+                "Подзадача меняет версию эпиков: статус и время эпика пересчитываются");
+    }
+
     @Test
     void testEmptyHistory() {
         List<BaseTask> history = taskManager.getPrioritizedTasks();
@@ -192,9 +526,18 @@ abstract class TaskManagerTest<T extends TaskManager> {
         return task;
     }
 
-    private void addSubtaskToEpic(EpicTask epic, String title, TaskStatus status) {
+    private Subtask addTimedSubtask(EpicTask epic, String title, LocalDateTime startTime, int durationMinutes) {
+        Subtask subtask = new Subtask(title, epic.getDescription(), epic.getId());
+        subtask.setStartTime(startTime);
+        subtask.setDuration(Duration.ofMinutes(durationMinutes));
+        taskManager.addSubtask(subtask);
+        return subtask;
+    }
+
+    private Subtask addSubtaskToEpic(EpicTask epic, String title, TaskStatus status) {
         Subtask subtask = new Subtask(title, epic.getDescription(), epic.getId());
         subtask.setStatus(status);
         taskManager.addSubtask(subtask);
+        return subtask;
     }
 }
@@ -0,0 +1,89 @@
+package taskmanagement.persistence;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryTaskFormatTest {
+
+    @Test
+    void testSubtaskRoundTrip() {
+        Subtask subtask = new Subtask("Подзадача", "Описание, с запятой", 1);
+        subtask.setId(300);
+        subtask.setStatus(TaskStatus.IN_PROGRESS);
+        subtask.setStartTime(LocalDateTime.of(1969, 12, 31, 23, 59));
+        subtask.setDuration(Duration.ofMinutes(45));
+
+        BaseTask restored = BinaryTaskFormat.readTask(ByteBuffer.wrap(BinaryTaskFormat.encodeTask(subtask)));
+
+        assertEquals(subtask, restored, "Подзадача должна восстанавливаться без потерь");
+        assertEquals(1, ((Subtask) restored).getEpicId(), "ID эпика должен сохраняться");
+    }
+
+    @Test
+    void testTaskWithoutStartTimeRoundTrip() {
+        SimpleTask task = new SimpleTask("Task", null);
+        task.setId(3);
+
+        BaseTask restored = BinaryTaskFormat.readTask(ByteBuffer.wrap(BinaryTaskFormat.encodeTask(task)));
+
+        assertEquals(task, restored, "Задача без времени должна восстанавливаться без потерь");
+        assertNull(restored.getStartTime(), "Пустое время начала должно оставаться пустым");
+        assertNull(restored.getDescription(), "Пустое описание должно оставаться пустым");
+    }
+
+    @Test
+    void testSnapshotRoundTrip() throws IOException {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        epic.setId(1);
+        SimpleTask task = new SimpleTask("Task", "Description", LocalDateTime.of(2030, 1, 1, 9, 0), Duration.ofMinutes(30));
+        task.setId(2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BinaryTaskFormat.writeSnapshot(out, List.of(epic, task), List.of(2, 1));
+        SnapshotData data = BinaryTaskFormat.readSnapshot(ByteBuffer.wrap(out.toByteArray()));
+
+        assertEquals(List.of(epic, task), data.getTasks(), "Задачи должны читаться в порядке записи");
+        assertEquals(List.of(2, 1), data.getHistoryIds(), "История должна читаться в порядке записи");
+    }
+
+    @Test
+    void testRejectsUnknownHeader() {
+        ByteBuffer csv = ByteBuffer.wrap("id,type".getBytes());
+
+        assertFalse(BinaryTaskFormat.hasMagic(csv), "CSV не должен распознаваться как двоичный снимок");
+        assertThrows(IllegalArgumentException.class, () -> BinaryTaskFormat.readSnapshot(csv),
+                "Чтение файла без заголовка должно завершаться ошибкой");
+    }
+
+    @Test
+    void testCorruptedOrTruncatedSnapshotIsRejected() throws IOException {
+        SimpleTask task = new SimpleTask("Task", "Description");
+        task.setId(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryTaskFormat.writeSnapshot(out, List.of(task), List.of(1));
+        byte[] bytes = out.toByteArray();
+
+        byte[] corrupted = bytes.clone();
+        corrupted[20] ^= 1;
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryTaskFormat.readSnapshot(ByteBuffer.wrap(corrupted)),
+                "Блок с неверной контрольной суммой должен отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> BinaryTaskFormat.readSnapshot(ByteBuffer.wrap(truncated)),
+                "Снимок без завершающего блока должен отклоняться");
+    }
+}
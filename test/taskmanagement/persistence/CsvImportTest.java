@@ -0,0 +1,61 @@
+package taskmanagement.persistence;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.exceptions.CsvImportException;
+import taskmanagement.task.BaseTask;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvImportTest {
+
+    @Test
+    void testSmallChunksGiveSameResultAsSequentialRead() {
+        StringBuilder csv = new StringBuilder(CsvTaskFormat.HEADER).append('\n');
+        csv.append("1,EPIC,Эпик,NEW,Описание,,null,0\n");
+        for (int id = 2; id <= 200; id++) {
+            csv.append(id).append(",SUBTASK,Подзадача ").append(id).append(",NEW,Описание,1,null,0\n");
+        }
+        csv.append('\n').append("5,1,7");
+        ByteBuffer bytes = ByteBuffer.wrap(csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        SnapshotData expected = CsvTaskFormat.readSnapshot(bytes);
+        SnapshotData imported = CsvImport.parse(bytes, ForkJoinPool.commonPool(), 64);
+
+        assertEquals(expected.getTasks(), imported.getTasks(), "Задачи должны идти в порядке файла");
+        assertEquals(List.of(5, 1, 7), imported.getHistoryIds(), "История должна читаться после склейки фрагментов");
+    }
+
+    @Test
+    void testFileWithoutHistory() {
+        String csv = CsvTaskFormat.HEADER + "\n1,TASK,Task,NEW,Description,,null,0";
+
+        SnapshotData imported = CsvImport.parse(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8)),
+                ForkJoinPool.commonPool(), 8);
+
+        List<BaseTask> tasks = imported.getTasks();
+        assertEquals(1, tasks.size(), "Последняя строка без пустой строки перед ней должна читаться как задача");
+        assertTrue(imported.getHistoryIds().isEmpty(), "Истории в файле нет");
+    }
+
+    @Test
+    void testErrorsReportedPerLine() {
+        String csv = CsvTaskFormat.HEADER + "\n"
+                + "1,TASK,Task,NEW,Description,,null,0\n"
+                + "x,TASK,Task,NEW,Description,,null,0\n"
+                + "3,TASK,Task,NEW,Description,,null,0\n"
+                + "4,TASK,Task\n";
+
+        CsvImportException exception = assertThrows(CsvImportException.class,
+                () -> CsvImport.parse(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8)), ForkJoinPool.commonPool(), 40));
+
+        List<String> errors = exception.getLineErrors();
+        assertEquals(2, errors.size(), "Должна сообщаться каждая ошибочная строка");
+        assertTrue(errors.get(0).startsWith("строка 3 "), "Номер строки должен учитывать предыдущие фрагменты: " + errors.get(0));
+        assertTrue(errors.get(1).startsWith("строка 5 "), "Номер строки должен учитывать предыдущие фрагменты: " + errors.get(1));
+    }
+}
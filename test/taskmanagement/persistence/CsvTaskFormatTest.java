@@ -0,0 +1,105 @@
+package taskmanagement.persistence;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTaskFormatTest {
+
+    @Test
+    void testSubtaskRoundTrip() {
+        Subtask subtask = new Subtask("Subtask", "Description", 1);
+        subtask.setId(2);
+        subtask.setStatus(TaskStatus.IN_PROGRESS);
+        subtask.setStartTime(LocalDateTime.of(2024, 5, 1, 10, 15));
+        subtask.setDuration(Duration.ofMinutes(45));
+
+        BaseTask restored = CsvTaskFormat.taskFromString(CsvTaskFormat.taskToString(subtask));
+
+        assertEquals(subtask, restored, "Подзадача должна восстанавливаться из строки без потерь");
+        assertEquals(1, ((Subtask) restored).getEpicId(), "ID эпика должен читаться из колонки epic");
+    }
+
+    @Test
+    void testTaskWithoutStartTimeRoundTrip() {
+        SimpleTask task = new SimpleTask("Task", "Description");
+        task.setId(3);
+
+        String line = CsvTaskFormat.taskToString(task);
+
+        assertEquals(8, line.split(",", -1).length, "Строка должна содержать все колонки заголовка");
+        assertEquals(task, CsvTaskFormat.taskFromString(line), "Задача без времени должна восстанавливаться без потерь");
+    }
+
+    @Test
+    void testHistoryRoundTrip() {
+        String history = CsvTaskFormat.historyToString(List.of(5, 7));
+
+        assertEquals(List.of(5, 7), CsvTaskFormat.historyFromString(history), "История должна восстанавливаться в том же порядке");
+        assertTrue(CsvTaskFormat.historyFromString("").isEmpty(), "Пустая строка истории должна давать пустой список");
+    }
+
+    @Test
+    void testReadSnapshotFromBytes() {
+        String snapshot = CsvTaskFormat.HEADER + "\r\n"
+                + "1,EPIC,Эпик,NEW,Описание,,null,0\r\n"
+                + "2,SUBTASK,Подзадача,DONE,Описание,1,09:30 01.02.30,15\r\n"
+                + "\r\n"
+                + "2,1";
+
+        SnapshotData data = CsvTaskFormat.readSnapshot(ByteBuffer.wrap(snapshot.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, data.getTasks().size(), "Должны читаться все строки задач");
+        Subtask subtask = (Subtask) data.getTasks().get(1);
+        assertEquals("Подзадача", subtask.getTitle(), "Кириллица должна читаться в UTF-8");
+        assertEquals(LocalDateTime.of(2030, 2, 1, 9, 30), subtask.getStartTime(), "Время должно разбираться по формату файла");
+        assertEquals(1, subtask.getEpicId(), "ID эпика должен читаться из колонки epic");
+        assertEquals(List.of(2, 1), data.getHistoryIds(), "История должна читаться после пустой строки");
+    }
+
+    @Test
+    void testMalformedLineIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CsvTaskFormat.taskFromString("1,TASK,Task"),
+                "Строка без всех колонок должна отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> CsvTaskFormat.taskFromString("x,TASK,Task,NEW,D,,null,0"),
+                "Нечисловой ID должен отклоняться");
+    }
+
+    @Test
+    void testSnapshotChecksumDetectsCorruption() throws IOException {
+        SimpleTask task = new SimpleTask("Задача", "Описание");
+        task.setId(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvTaskFormat.writeSnapshot(out, List.of(task), List.of(1));
+        byte[] bytes = out.toByteArray();
+
+        SnapshotData data = CsvTaskFormat.readSnapshot(ByteBuffer.wrap(bytes));
+        assertEquals(List.of(task), data.getTasks(), "Снимок с контрольной суммой должен читаться");
+        assertEquals(List.of(1), data.getHistoryIds(), "История должна читаться перед строкой контрольной суммы");
+
+        bytes[CsvTaskFormat.HEADER.length() + 1] = '7';
+        assertThrows(IllegalArgumentException.class, () -> CsvTaskFormat.readSnapshot(ByteBuffer.wrap(bytes)),
+                "Измененный снимок не должен проходить проверку");
+    }
+
+    @Test
+    void testTruncatedSnapshotWithoutChecksumIsRejected() {
+        String truncated = CsvTaskFormat.HEADER + "\n1,TASK,Task,NEW,Description,,null,0\n";
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CsvTaskFormat.readSnapshot(ByteBuffer.wrap(truncated.getBytes(StandardCharsets.UTF_8))),
+                "Снимок без пустой строки перед историей считается обрезанным");
+    }
+}
@@ -0,0 +1,102 @@
+package taskmanagement.persistence;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.TaskType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    @Test
+    void testReplayReturnsRecordsInOrder() throws IOException {
+        Path path = Files.createTempFile("journal", ".log");
+        SimpleTask task = new SimpleTask("Task", "Description");
+        task.setId(1);
+        try (Journal journal = Journal.open(path, FsyncPolicy.ALWAYS, 1000)) {
+            journal.append(List.of(JournalRecord.put(task), JournalRecord.delete(1)));
+            journal.append(List.of(JournalRecord.clear(TaskType.EPIC)));
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        Journal.replay(path, records::add);
+
+        assertEquals(3, records.size(), "Должны воспроизводиться все записи журнала");
+        assertEquals(task, records.get(0).getTask(), "PUT должен восстанавливать задачу целиком");
+        assertEquals(1, records.get(1).getId(), "DELETE должен восстанавливать ID");
+        assertEquals(TaskType.EPIC, records.get(2).getTaskType(), "CLEAR должен восстанавливать тип задач");
+        Files.delete(path);
+    }
+
+    @Test
+    void testReplayIgnoresTornTail() throws IOException {
+        Path path = Files.createTempFile("journal", ".log");
+        try (Journal journal = Journal.open(path, FsyncPolicy.OS, 1000)) {
+            journal.append(List.of(JournalRecord.delete(1), JournalRecord.delete(2)));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        Journal.replay(path, records::add);
+
+        assertEquals(1, records.size(), "Недописанная запись в конце журнала должна отбрасываться");
+        Files.delete(path);
+    }
+
+    @Test
+    void testRotateKeepsSegmentsUntilDeleted() throws IOException {
+        Path path = Files.createTempFile("journal", ".log");
+        Path segment;
+        try (Journal journal = Journal.open(path, FsyncPolicy.OS, 1000)) {
+            journal.append(List.of(JournalRecord.delete(1)));
+            segment = journal.rotate();
+            journal.append(List.of(JournalRecord.delete(2)));
+            assertTrue(Files.size(segment) > 0, "Сегмент должен содержать записи до переключения");
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        Journal.replayAll(path, record -> ids.add(record.getId()));
+        assertEquals(List.of(1, 2), ids, "Сегменты должны воспроизводиться раньше активного файла");
+
+        Journal.deleteSegmentsUpTo(path, segment);
+        assertTrue(Journal.segments(path).isEmpty(), "Сегменты, вошедшие в снимок, должны удаляться");
+        ids.clear();
+        Journal.replayAll(path, record -> ids.add(record.getId()));
+        assertEquals(List.of(2), ids, "После удаления сегментов воспроизводится только хвост журнала");
+        Files.delete(path);
+    }
+
+    @Test
+    void testRecoverTruncatesAtLastGoodRecord() throws IOException {
+        Path path = Files.createTempFile("journal", ".log");
+        try (Journal journal = Journal.open(path, FsyncPolicy.OS, 1000)) {
+            journal.append(List.of(JournalRecord.delete(1), JournalRecord.delete(2)));
+        }
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), size - 1); // Порча тела последней записи
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        try (Journal journal = Journal.open(path, FsyncPolicy.OS, 1000)) {
+            assertEquals(size / 2, journal.recover(record -> ids.add(record.getId())),
+                    "Поврежденная запись должна отрезаться целиком");
+            journal.append(List.of(JournalRecord.delete(3)));
+        }
+        Journal.replay(path, record -> ids.add(record.getId()));
+
+        assertEquals(List.of(1, 1, 3), ids, "После восстановления новые записи должны читаться за последней целой");
+        Files.delete(path);
+    }
+}
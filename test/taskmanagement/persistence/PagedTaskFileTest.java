@@ -0,0 +1,133 @@
+package taskmanagement.persistence;
+
+import org.junit.jupiter.api.Test;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+import taskmanagement.task.TaskType;
+import taskmanagement.util.IntObjectMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedTaskFileTest {
+
+    @Test
+    void testReopenRestoresLatestVersions() throws IOException {
+        Path path = Files.createTempFile("tasks", ".pages");
+        IntObjectMap<BaseTask> state = new IntObjectMap<>();
+        SimpleTask task = simpleTask(1, "Task");
+        state.put(1, task);
+        try (PagedTaskFile file = PagedTaskFile.open(path, FsyncPolicy.OS, new PersistenceMetrics())) {
+            file.apply(List.of(JournalRecord.put(task)), state::get, () -> List.of(1));
+            SimpleTask updated = simpleTask(1, "Updated");
+            state.put(1, updated);
+            file.apply(List.of(JournalRecord.put(updated)), state::get, () -> List.of(1));
+        }
+
+        try (PagedTaskFile file = PagedTaskFile.open(path, FsyncPolicy.OS, new PersistenceMetrics())) {
+            SnapshotData data = file.takeLoaded();
+            assertEquals(1, data.getTasks().size(), "Должна остаться одна версия задачи");
+            assertEquals("Updated", data.getTasks().get(0).getTitle(), "Должна восстанавливаться последняя версия");
+            assertEquals(List.of(1), data.getHistoryIds(), "История должна восстанавливаться");
+        }
+        Files.delete(path);
+    }
+
+    @Test
+    void testUpdateWritesOnlyChangedSlots() throws IOException {
+        Path path = Files.createTempFile("tasks", ".pages");
+        IntObjectMap<BaseTask> state = new IntObjectMap<>();
+        List<JournalRecord> puts = new ArrayList<>();
+        for (int id = 1; id <= 2000; id++) {
+            SimpleTask task = simpleTask(id, "Task " + id);
+            state.put(id, task);
+            puts.add(JournalRecord.put(task));
+        }
+        PersistenceMetrics metrics = new PersistenceMetrics();
+        try (PagedTaskFile file = PagedTaskFile.open(path, FsyncPolicy.OS, metrics)) {
+            file.apply(puts, state::get, List::of);
+            long fileSize = file.size();
+
+            SimpleTask updated = simpleTask(1000, "Changed");
+            state.put(1000, updated);
+            file.apply(List.of(JournalRecord.put(updated)), state::get, List::of);
+
+            assertTrue(metrics.getLastPagedBytes() <= 4L * PagedTaskFile.SLOT_SIZE,
+                    "Изменение одной задачи должно писать только ее слоты и историю");
+            assertTrue(metrics.getLastPagedBytes() * 100 < fileSize, "Объем записи не должен зависеть от размера файла");
+        }
+        Files.delete(path);
+    }
+
+    @Test
+    void testDeleteEpicRemovesItsSubtasks() throws IOException {
+        Path path = Files.createTempFile("tasks", ".pages");
+        IntObjectMap<BaseTask> state = new IntObjectMap<>();
+        EpicTask epic = new EpicTask("Epic", "Description");
+        epic.setId(1);
+        Subtask subtask = new Subtask("Subtask", "Description", 1);
+        subtask.setId(2);
+        SimpleTask task = simpleTask(3, "Task");
+        state.put(1, epic);
+        state.put(2, subtask);
+        state.put(3, task);
+        try (PagedTaskFile file = PagedTaskFile.open(path, FsyncPolicy.ALWAYS, new PersistenceMetrics())) {
+            file.apply(List.of(JournalRecord.put(epic), JournalRecord.put(subtask), JournalRecord.put(task)),
+                    state::get, List::of);
+            state.remove(1);
+            state.remove(2);
+            file.apply(List.of(JournalRecord.delete(1)), state::get, List::of);
+            state.remove(3);
+            file.apply(List.of(JournalRecord.clear(TaskType.TASK)), state::get, List::of);
+        }
+
+        try (PagedTaskFile file = PagedTaskFile.open(path, FsyncPolicy.OS, new PersistenceMetrics())) {
+            assertTrue(file.takeLoaded().getTasks().isEmpty(), "Удаление эпика и очистка должны освобождать слоты");
+        }
+        Files.delete(path);
+    }
+
+    @Test
+    void testTornRecordKeepsPreviousVersion() throws IOException {
+        Path path = Files.createTempFile("tasks", ".pages");
+        IntObjectMap<BaseTask> state = new IntObjectMap<>();
+        List<JournalRecord> puts = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            SimpleTask task = simpleTask(id, "Task " + id);
+            state.put(id, task);
+            puts.add(JournalRecord.put(task));
+        }
+        try (PagedTaskFile file = PagedTaskFile.open(path, FsyncPolicy.OS, new PersistenceMetrics())) {
+            file.apply(puts, state::get, List::of);
+        }
+        // Порча данных второй записи: CRC не сходится, и серия считается свободной
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), PagedTaskFile.PAGE_SIZE + PagedTaskFile.SLOT_SIZE + 30);
+        }
+
+        try (PagedTaskFile file = PagedTaskFile.open(path, FsyncPolicy.OS, new PersistenceMetrics())) {
+            List<BaseTask> tasks = new ArrayList<>(file.takeLoaded().getTasks());
+            tasks.sort(Comparator.comparingInt(BaseTask::getId));
+            assertEquals(List.of(1, 3), tasks.stream().map(BaseTask::getId).toList(),
+                    "Поврежденная запись должна отбрасываться, остальные — читаться");
+        }
+        Files.delete(path);
+    }
+
+    private static SimpleTask simpleTask(int id, String title) {
+        SimpleTask task = new SimpleTask(title, "Description");
+        task.setId(id);
+        return task;
+    }
+}
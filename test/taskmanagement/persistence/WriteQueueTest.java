@@ -0,0 +1,122 @@
+package taskmanagement.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteQueueTest {
+
+    @Test
+    void testQueuedBatchesAreCommittedTogether() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        PersistenceMetrics metrics = new PersistenceMetrics();
+        WriteQueue queue = new WriteQueue("test-writer", 16, records -> {
+            started.countDown();
+            awaitQuietly(release);
+            batchSizes.add(records.size());
+        }, metrics);
+
+        queue.submit(List.of(JournalRecord.delete(0)));
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Писатель должен забрать первый пакет");
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            pending.add(queue.submit(List.of(JournalRecord.delete(id))));
+        }
+        release.countDown();
+        for (CompletableFuture<Void> done : pending) {
+            WriteQueue.await(done);
+        }
+        queue.close();
+
+        assertEquals(List.of(1, 5), batchSizes, "Накопившиеся пакеты должны записываться одной фиксацией");
+        assertEquals(2, metrics.getCommitCount(), "Метрики должны учитывать каждую фиксацию");
+        assertEquals(6, metrics.getCommittedBatches(), "Метрики должны учитывать все пакеты");
+    }
+
+    @Test
+    void testFullQueueBlocksProducer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PersistenceMetrics metrics = new PersistenceMetrics();
+        WriteQueue queue = new WriteQueue("test-writer", 1, records -> awaitQuietly(release), metrics);
+
+        queue.submit(List.of(JournalRecord.delete(1)));
+        Thread producer = new Thread(() -> {
+            try {
+                for (int id = 2; id <= 4; id++) {
+                    queue.submit(List.of(JournalRecord.delete(id)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        producer.join(300);
+
+        assertTrue(producer.isAlive(), "При заполненной очереди вызывающий должен ждать");
+        assertTrue(metrics.getBackpressureCount() > 0, "Ожидание места должно учитываться в метриках");
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive(), "После записи очередь должна принимать новые пакеты");
+        queue.close();
+    }
+
+    @Test
+    void testWriteFailureIsReportedToWaiter() throws Exception {
+        WriteQueue queue = new WriteQueue("test-writer", 4, records -> {
+            throw new IOException("диск недоступен");
+        }, new PersistenceMetrics());
+
+        CompletableFuture<Void> done = queue.submit(List.of(JournalRecord.delete(1)));
+
+        IOException exception = assertThrows(IOException.class, () -> WriteQueue.await(done),
+                "Ошибка записи должна доходить до ожидающего");
+        assertEquals("диск недоступен", exception.getMessage(), "Должна передаваться исходная ошибка");
+        assertThrows(IOException.class, queue::close, "Закрытие должно сообщать об ошибке фоновой записи");
+    }
+
+    @Test
+    void testFirstFailureStopsQueue() throws Exception {
+        List<List<JournalRecord>> written = Collections.synchronizedList(new ArrayList<>());
+        PersistenceMetrics metrics = new PersistenceMetrics();
+        WriteQueue queue = new WriteQueue("test-writer", 4, records -> {
+            if (written.isEmpty()) {
+                written.add(records);
+                throw new IOException("диск недоступен");
+            }
+            written.add(records);
+        }, metrics);
+
+        CompletableFuture<Void> failed = queue.submit(List.of(JournalRecord.delete(1)));
+        assertThrows(IOException.class, () -> WriteQueue.await(failed), "Первый пакет должен завершиться ошибкой");
+
+        IOException rejected = assertThrows(IOException.class, () -> queue.submit(List.of(JournalRecord.delete(2))),
+                "После ошибки очередь не должна принимать пакеты");
+        assertSame(queue.getFailure(), rejected.getCause(), "Отказ должен ссылаться на первую ошибку");
+        assertThrows(IOException.class, queue::flush, "Ожидание записи должно сообщать об ошибке");
+        assertThrows(IOException.class, queue::close, "Закрытие должно сообщать об ошибке");
+        assertEquals(1, written.size(), "После ошибки писатель не должен ничего дописывать");
+        assertEquals(1, metrics.getWriteFailures(), "Ошибка должна учитываться в метриках");
+        assertEquals(0, metrics.getCommitCount(), "Неудачная запись не считается фиксацией");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
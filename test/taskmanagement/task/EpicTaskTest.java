@@ -73,4 +73,21 @@ class EpicTaskTest {
 
         assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus(), "Статус эпика должен быть IN_PROGRESS, когда все подзадачи IN_PROGRESS");
     }
+
+    @Test
+    void testStatusCountersAfterRemoveAndClear() {
+        subtask1.setStatus(TaskStatus.DONE);
+        subtask2.setStatus(TaskStatus.IN_PROGRESS);
+
+        taskManager.addSubtask(subtask1);
+        taskManager.addSubtask(subtask2);
+        epic.removeSubtask(subtask2.getId());
+
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Статус эпика должен быть DONE после удаления подзадачи IN_PROGRESS");
+
+        epic.clearSubtasks();
+
+        assertEquals(TaskStatus.NEW, epic.getStatus(), "Статус эпика должен быть NEW после очистки подзадач");
+        assertEquals(0, epic.getSubtaskIds().size(), "Список подзадач должен быть пустым");
+    }
 }
@@ -0,0 +1,72 @@
+package taskmanagement.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Сравнение занимаемой памяти: HashMap<Integer, ?> / List<Integer> против IntObjectMap / IntSet.
+// Запуск: java taskmanagement.util.IntObjectMapFootprintBenchmark [количество элементов]
+public class IntObjectMapFootprintBenchmark {
+    private static final Object VALUE = new Object();
+    private static Object retained;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long boxedMap = measure(() -> {
+            Map<Integer, Object> map = new HashMap<>();
+            for (int id = 1; id <= count; id++) {
+                map.put(id, VALUE);
+            }
+            return map;
+        });
+        long primitiveMap = measure(() -> {
+            IntObjectMap<Object> map = new IntObjectMap<>();
+            for (int id = 1; id <= count; id++) {
+                map.put(id, VALUE);
+            }
+            return map;
+        });
+        long boxedList = measure(() -> {
+            List<Integer> list = new ArrayList<>();
+            for (int id = 1; id <= count; id++) {
+                list.add(id);
+            }
+            return list;
+        });
+        long primitiveSet = measure(() -> {
+            IntSet set = new IntSet();
+            for (int id = 1; id <= count; id++) {
+                set.add(id);
+            }
+            return set;
+        });
+
+        System.out.printf("Элементов: %d%n", count);
+        print("HashMap<Integer, Object>", boxedMap, count);
+        print("IntObjectMap<Object>", primitiveMap, count);
+        print("ArrayList<Integer>", boxedList, count);
+        print("IntSet", primitiveSet, count);
+    }
+
+    private static long measure(Supplier<Object> factory) {
+        retained = null;
+        long before = usedMemory();
+        retained = factory.get();
+        return usedMemory() - before;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void print(String name, long bytes, int count) {
+        System.out.printf("%-26s %,14d байт  %6.1f байт/элемент%n", name, bytes, (double) bytes / count);
+    }
+}
@@ -0,0 +1,59 @@
+package taskmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntObjectMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertNull(map.put(1, "one"), "Для нового ключа предыдущее значение должно быть null");
+        assertEquals("one", map.put(1, "uno"), "Должно вернуться предыдущее значение");
+        assertEquals("uno", map.get(1), "Значение должно быть заменено");
+        assertEquals(1, map.size(), "Повторный put не должен увеличивать размер");
+
+        assertEquals("uno", map.remove(1), "remove должен вернуть удалённое значение");
+        assertFalse(map.containsKey(1), "Ключ должен быть удалён");
+        assertTrue(map.isEmpty(), "Отображение должно быть пустым");
+    }
+
+    @Test
+    void testNullValueIsRejected() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null), "null-значения не поддерживаются");
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key), "remove должен совпадать с HashMap");
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i), "put должен совпадать с HashMap");
+            }
+        }
+
+        assertEquals(expected.size(), map.size(), "Размеры должны совпадать");
+        expected.forEach((key, value) -> assertEquals(value, map.get(key), "Значения должны совпадать"));
+        int[] count = new int[1];
+        map.forEachKey(key -> count[0]++);
+        assertEquals(expected.size(), count[0], "Обход ключей должен вернуть все элементы");
+        assertEquals(expected.size(), map.values().size(), "Коллекция значений должна содержать все элементы");
+    }
+}
@@ -0,0 +1,26 @@
+package taskmanagement.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntSetAdapterTest {
+
+    @Test
+    void testGsonIntegration() {
+        Gson gson = new GsonBuilder().registerTypeAdapter(IntSet.class, new IntSetAdapter()).create();
+        IntSet set = new IntSet();
+        set.add(3);
+        set.add(1);
+
+        String json = gson.toJson(set);
+        assertEquals("[1,3]", json, "Множество должно сериализоваться в упорядоченный массив");
+
+        IntSet deserialized = gson.fromJson(json, IntSet.class);
+        assertEquals(2, deserialized.size(), "Должны быть прочитаны все элементы");
+        assertTrue(deserialized.contains(1) && deserialized.contains(3), "Должны быть прочитаны исходные элементы");
+    }
+}
@@ -0,0 +1,78 @@
+package taskmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntSetTest {
+
+    @Test
+    void testAddRemoveContains() {
+        IntSet set = new IntSet();
+
+        assertTrue(set.add(5), "Новый элемент должен добавляться");
+        assertFalse(set.add(5), "Повторный элемент не должен добавляться");
+        assertTrue(set.contains(5), "Элемент должен содержаться в множестве");
+        assertTrue(set.remove(5), "Элемент должен удаляться");
+        assertFalse(set.contains(5), "Удалённый элемент не должен содержаться в множестве");
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        IntSet set = new IntSet();
+        set.add(1);
+        set.add(2);
+
+        IntSet copy = new IntSet(set);
+        copy.add(3);
+        set.remove(1);
+
+        assertArrayEquals(new int[]{1, 2, 3}, copy.toSortedArray(), "Копия не должна зависеть от исходного множества");
+        assertArrayEquals(new int[]{2}, set.toSortedArray(), "Исходное множество не должно зависеть от копии");
+    }
+
+    @Test
+    void testSentinelValueIsSupported() {
+        IntSet set = new IntSet();
+
+        assertTrue(set.add(Integer.MIN_VALUE), "Integer.MIN_VALUE должен добавляться");
+        assertTrue(set.contains(Integer.MIN_VALUE), "Integer.MIN_VALUE должен содержаться в множестве");
+        assertEquals(1, set.size(), "Размер должен учитывать Integer.MIN_VALUE");
+        assertTrue(set.remove(Integer.MIN_VALUE), "Integer.MIN_VALUE должен удаляться");
+    }
+
+    @Test
+    void testSortedArray() {
+        IntSet set = new IntSet();
+        for (int id : new int[]{42, 7, 19, 3}) {
+            set.add(id);
+        }
+        assertArrayEquals(new int[]{3, 7, 19, 42}, set.toSortedArray(), "Элементы должны быть упорядочены по возрастанию");
+    }
+
+    @Test
+    void testMatchesHashSetUnderRandomOperations() {
+        IntSet set = new IntSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(1_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(key), set.add(key), "add должен совпадать с HashSet");
+            } else {
+                assertEquals(expected.remove(key), set.remove(key), "remove должен совпадать с HashSet");
+            }
+        }
+
+        assertEquals(expected.size(), set.size(), "Размеры должны совпадать");
+        expected.forEach(key -> assertTrue(set.contains(key), "Все элементы должны содержаться в множестве"));
+    }
+}
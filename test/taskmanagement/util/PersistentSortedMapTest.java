@@ -0,0 +1,82 @@
+package taskmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PersistentSortedMapTest {
+
+    @Test
+    void testOldVersionsStayUnchanged() {
+        PersistentSortedMap<Integer, String> empty = PersistentSortedMap.empty(Comparator.naturalOrder());
+        PersistentSortedMap<Integer, String> first = empty.put(2, "two").put(1, "one");
+        PersistentSortedMap<Integer, String> second = first.remove(1).put(3, "three");
+
+        assertEquals(List.of("one", "two"), first.values(), "Старая версия не должна меняться");
+        assertEquals(List.of("two", "three"), second.values(), "Новая версия должна содержать изменения");
+        assertEquals(0, empty.size(), "Пустая версия должна остаться пустой");
+        assertNull(second.get(1), "Удалённый ключ не должен находиться в новой версии");
+    }
+
+    @Test
+    void testRemoveMissingKeyReturnsSameVersion() {
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.<Integer, String>empty(Comparator.naturalOrder()).put(1, "one");
+        assertSame(map, map.remove(5), "Удаление отсутствующего ключа не должно создавать новую версию");
+    }
+
+    @Test
+    void testValuesViewIsReadOnly() {
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.<Integer, String>empty(Comparator.naturalOrder()).put(1, "one");
+        assertThrows(UnsupportedOperationException.class, () -> map.values().add("two"), "Представление должно быть только для чтения");
+    }
+
+    @Test
+    void testMatchesTreeMapUnderRandomOperations() {
+        PersistentSortedMap<Integer, Integer> map = PersistentSortedMap.empty(Comparator.naturalOrder());
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 5_000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()), "Значения должны идти в порядке ключей");
+        assertEquals(expected.headMap(250).size(), map.rank(250), "rank должен совпадать с количеством меньших ключей");
+        List<Integer> tail = map.values().subList(10, 20);
+        assertEquals(new ArrayList<>(expected.values()).subList(10, 20), new ArrayList<>(tail), "subList должен обходить нужный диапазон");
+    }
+
+    @Test
+    void testFromSortedMatchesIncrementalInserts() {
+        List<Integer> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        PersistentSortedMap<Integer, String> expected = PersistentSortedMap.empty(Comparator.naturalOrder());
+        for (int i = 0; i < 1_000; i++) {
+            keys.add(i * 2);
+            values.add("v" + i);
+            expected = expected.put(i * 2, "v" + i);
+        }
+
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.fromSorted(Comparator.naturalOrder(), keys, values);
+
+        assertEquals(expected.values(), map.values(), "Массовое построение должно давать то же содержимое");
+        assertEquals(expected.rank(501), map.rank(501), "rank должен работать на построенном дереве");
+        assertEquals("v3", map.remove(4).put(6, "v3").get(6), "Построенное дерево должно поддерживать изменения");
+    }
+}
@@ -0,0 +1,97 @@
+package taskmanagement.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import taskmanagement.task.SimpleTask;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Сравнение сериализации задач: рефлексия с прежним адаптером времени на DateTimeFormatter,
+// рефлексия с быстрым TimeUtils и TaskTypeAdapterFactory. Замеряются запись списка и чтение задач.
+// Запуск: java taskmanagement.util.TaskJsonBenchmark [количество задач] [повторов]
+public class TaskJsonBenchmark {
+    private static final Type TASK_LIST = new TypeToken<List<SimpleTask>>() {
+    }.getType();
+    private static Object sink;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        List<SimpleTask> tasks = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for (int id = 1; id <= count; id++) {
+            SimpleTask task = new SimpleTask("Задача " + id, "Описание " + id, start.plusHours(id), Duration.ofMinutes(30));
+            task.setId(id);
+            tasks.add(task);
+        }
+        Gson formatter = new GsonBuilder()
+                .serializeNulls()
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapter(LocalDateTime.class, new FormatterTimeAdapter())
+                .create();
+        Gson reflective = base().create();
+        Gson adapters = base().registerTypeAdapterFactory(new TaskTypeAdapterFactory()).create();
+
+        System.out.printf("Задач: %d, повторов: %d%n", count, rounds);
+        for (int pass = 0; pass < 2; pass++) {
+            // Первый проход — прогрев JIT, печатается второй
+            long formatterWrite = time(rounds, () -> sink = formatter.toJson(tasks));
+            long reflectiveWrite = time(rounds, () -> sink = reflective.toJson(tasks));
+            long adapterWrite = time(rounds, () -> sink = adapters.toJson(tasks));
+            String json = reflective.toJson(tasks);
+            long formatterRead = time(rounds, () -> sink = formatter.fromJson(json, TASK_LIST));
+            long reflectiveRead = time(rounds, () -> sink = reflective.fromJson(json, TASK_LIST));
+            long adapterRead = time(rounds, () -> sink = adapters.fromJson(json, TASK_LIST));
+            if (pass == 1) {
+                print("Запись, DateTimeFormatter", formatterWrite, rounds);
+                print("Запись, рефлексия", reflectiveWrite, rounds);
+                print("Запись, адаптеры", adapterWrite, rounds);
+                print("Чтение, DateTimeFormatter", formatterRead, rounds);
+                print("Чтение, рефлексия", reflectiveRead, rounds);
+                print("Чтение, адаптеры", adapterRead, rounds);
+            }
+        }
+    }
+
+    private static GsonBuilder base() {
+        return new GsonBuilder()
+                .serializeNulls()
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter());
+    }
+
+    // Прежний адаптер времени: форматирование и разбор через DateTimeFormatter
+    private static final class FormatterTimeAdapter extends TypeAdapter<LocalDateTime> {
+        @Override
+        public void write(JsonWriter out, LocalDateTime value) throws IOException {
+            out.value(value == null ? "null" : value.format(TimeUtils.DATE_TIME_FORMATTER));
+        }
+
+        @Override
+        public LocalDateTime read(JsonReader in) throws IOException {
+            String value = in.nextString();
+            return "null".equals(value) ? null : LocalDateTime.parse(value, TimeUtils.DATE_TIME_FORMATTER);
+        }
+    }
+
+    private static long time(int rounds, Runnable action) {
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            action.run();
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static void print(String name, long nanos, int rounds) {
+        System.out.printf("%-26s %8.2f мс/проход%n", name, nanos / 1e6 / rounds);
+    }
+}
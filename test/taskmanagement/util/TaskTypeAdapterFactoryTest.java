@@ -0,0 +1,72 @@
+package taskmanagement.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Test;
+import taskmanagement.status.TaskStatus;
+import taskmanagement.task.BaseTask;
+import taskmanagement.task.EpicTask;
+import taskmanagement.task.SimpleTask;
+import taskmanagement.task.Subtask;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTypeAdapterFactoryTest {
+    private final Gson gson = new GsonBuilder()
+            .serializeNulls()
+            .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
+            .create();
+
+    @Test
+    void testRoundTripKeepsTypeAndFields() {
+        SimpleTask task = new SimpleTask("Задача", "Описание", LocalDateTime.of(2030, 1, 1, 9, 0), Duration.ofMinutes(30));
+        task.setId(1);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        Subtask subtask = new Subtask("Subtask", null, 2);
+        subtask.setId(3);
+
+        String json = gson.toJson(task);
+        BaseTask restored = gson.fromJson(json, BaseTask.class);
+        BaseTask restoredSubtask = gson.fromJson(gson.toJson(subtask), BaseTask.class);
+
+        assertTrue(json.startsWith("{\"type\":\"TASK\""), "Дискриминатор type должен писаться первым");
+        assertTrue(json.contains("\"startTime\":\"09:00 01.01.30\""), "Время должно писаться в прежнем формате");
+        assertInstanceOf(SimpleTask.class, restored, "Класс должен выбираться по type");
+        assertEquals(task, restored, "ID должен восстанавливаться");
+        assertEquals(TaskStatus.IN_PROGRESS, restored.getStatus(), "Статус должен восстанавливаться");
+        assertEquals(task.getStartTime(), restored.getStartTime(), "Время начала должно восстанавливаться");
+        assertEquals(Duration.ofMinutes(30), restored.getDuration(), "Длительность должна восстанавливаться");
+        assertEquals(2, ((Subtask) restoredSubtask).getEpicId(), "ID эпика подзадачи должен восстанавливаться");
+        assertNull(restoredSubtask.getDescription(), "null должен оставаться null");
+    }
+
+    @Test
+    void testEpicWritesSubtasksAndEndTime() {
+        EpicTask epic = new EpicTask("Epic", "Description");
+        epic.setId(1);
+        epic.addSubtask(2, TaskStatus.DONE);
+
+        String json = gson.toJson(epic);
+
+        assertTrue(json.contains("\"subtaskIds\":[2]"), "Эпик должен писать ID подзадач");
+        assertTrue(json.contains("\"endTime\":\"null\""), "Пустое время окончания пишется как раньше");
+        assertEquals(TaskStatus.DONE, gson.fromJson(json, EpicTask.class).getStatus(), "Статус эпика должен читаться");
+    }
+
+    @Test
+    void testConcreteClassWithoutTypeAndMismatch() {
+        SimpleTask task = gson.fromJson("{\"title\":\"Task\",\"unknown\":[1,{}]}", SimpleTask.class);
+
+        assertEquals("Task", task.getTitle(), "Без type класс задается типом чтения, неизвестные поля пропускаются");
+        assertEquals(TaskStatus.NEW, task.getStatus(), "Без статуса задача должна быть новой");
+        assertEquals(Duration.ZERO, task.getDuration(), "Без длительности она должна быть нулевой");
+        assertThrows(JsonParseException.class, () -> gson.fromJson("{\"type\":\"EPIC\"}", SimpleTask.class),
+                "Несовпадающий type должен отклоняться");
+        assertThrows(JsonParseException.class, () -> gson.fromJson("{\"title\":\"Task\"}", BaseTask.class),
+                "Для BaseTask поле type обязательно");
+    }
+}
@@ -3,9 +3,11 @@ package taskmanagement.util;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TimeUtilsTest {
 
@@ -36,4 +38,17 @@ public class TimeUtilsTest {
         String dateTimeString = "null";
         assertNull(TimeUtils.stringToTime(dateTimeString));
     }
+
+    @Test
+    void testFastCodecMatchesFormatter() {
+        LocalDateTime time = LocalDateTime.of(2031, 1, 5, 7, 3);
+        assertEquals(time.format(TimeUtils.DATE_TIME_FORMATTER), TimeUtils.timeToString(time),
+                "Запись по позициям должна совпадать с DateTimeFormatter");
+        assertEquals(LocalDateTime.parse("23:59 31.02.24", TimeUtils.DATE_TIME_FORMATTER),
+                TimeUtils.stringToTime("23:59 31.02.24"), "Несуществующая дата должна разбираться как у DateTimeFormatter");
+        assertThrows(DateTimeParseException.class, () -> TimeUtils.stringToTime("25:00 01.01.24"),
+                "Неверное время должно отклоняться с DateTimeParseException");
+        assertThrows(DateTimeParseException.class, () -> TimeUtils.stringToTime("1a:00 01.01.24"),
+                "Не цифры должны отклоняться с DateTimeParseException");
+    }
 }